@@ -0,0 +1,96 @@
+#!/usr/bin/env bash
+#
+# Measures time-to-first-request and resident memory of the application.
+#
+# Usage: scripts/startup-benchmark.sh [jvm|aot|cds|native] [runs]
+#
+#   jvm     plain executable jar
+#   aot     jar built with -Pprod, started with -Dspring.aot.enabled=true
+#   cds     as aot, plus a class data sharing archive created by a training run
+#   native  GraalVM native image built with -Pprod,native native:compile
+#
+# Time-to-first-request is measured from process launch until the first
+# authenticated request succeeds. RSS is read from /proc after that request.
+
+set -euo pipefail
+
+MODE="${1:-jvm}"
+RUNS="${2:-5}"
+PORT="${PORT:-18080}"
+CREDENTIALS="${CREDENTIALS:-user:pass@1234}"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+TARGET="$ROOT/target"
+JAR="$TARGET/parking.lot-0.0.1-SNAPSHOT.jar"
+WORK="$TARGET/startup-benchmark"
+URL="http://localhost:$PORT/api/replication/status"
+MVN="${MVN:-mvn}"
+
+build() {
+    cd "$ROOT"
+    case "$MODE" in
+        jvm) "$MVN" -q -DskipTests package ;;
+        aot|cds) "$MVN" -q -Pprod -DskipTests package ;;
+        native) "$MVN" -q -Pprod,native -DskipTests native:compile ;;
+        *) echo "Unknown mode: $MODE" >&2; exit 1 ;;
+    esac
+}
+
+prepare() {
+    rm -rf "$WORK"
+    mkdir -p "$WORK"
+    if [[ "$MODE" == "cds" ]]; then
+        java -Djarmode=tools -jar "$JAR" extract --destination "$WORK/app" >/dev/null
+        # Training run: refresh the context, then exit and dump the loaded classes.
+        java -XX:ArchiveClassesAtExit="$WORK/app.jsa" -Dspring.context.exit=onRefresh \
+            -Dspring.aot.enabled=true -jar "$WORK/app/parking.lot-0.0.1-SNAPSHOT.jar" \
+            --logging.file.name="$WORK/training.log" >/dev/null 2>&1
+    fi
+}
+
+command_line() {
+    local common=(--server.port="$PORT" --logging.file.name="$WORK/app.log" --logging.level.root=WARN)
+    case "$MODE" in
+        jvm) echo java -jar "$JAR" "${common[@]}" ;;
+        aot) echo java -Dspring.aot.enabled=true -jar "$JAR" "${common[@]}" ;;
+        cds) echo java -XX:SharedArchiveFile="$WORK/app.jsa" -Dspring.aot.enabled=true \
+                -jar "$WORK/app/parking.lot-0.0.1-SNAPSHOT.jar" "${common[@]}" ;;
+        native) echo "$TARGET/parking.lot" "${common[@]}" ;;
+    esac
+}
+
+now_millis() {
+    date +%s%3N
+}
+
+run_once() {
+    local start pid ttfr rss
+    start=$(now_millis)
+    $(command_line) >/dev/null 2>&1 &
+    pid=$!
+    until curl -sf -u "$CREDENTIALS" "$URL" >/dev/null 2>&1; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "Application exited during startup, see $WORK/app.log" >&2
+            exit 1
+        fi
+        sleep 0.01
+    done
+    ttfr=$(( $(now_millis) - start ))
+    rss=$(awk '/VmRSS/ { print $2 }' "/proc/$pid/status")
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    echo "$ttfr $rss"
+}
+
+build
+prepare
+echo "mode=$MODE runs=$RUNS"
+printf "%-5s %22s %12s\n" "run" "time-to-first-req ms" "rss MiB"
+total_ttfr=0
+total_rss=0
+for run in $(seq 1 "$RUNS"); do
+    read -r ttfr rss < <(run_once)
+    total_ttfr=$(( total_ttfr + ttfr ))
+    total_rss=$(( total_rss + rss ))
+    printf "%-5s %22d %12d\n" "$run" "$ttfr" "$(( rss / 1024 ))"
+done
+printf "%-5s %22d %12d\n" "avg" "$(( total_ttfr / RUNS ))" "$(( total_rss / RUNS / 1024 ))"
@@ -4,6 +4,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import com.drop.solution.parking.lot.config.ParkingRuntimeHints;
 
 /**
  * The entry point for the Spring Boot application.
@@ -11,8 +14,10 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * This class contains the main method which starts the application.
  * It is annotated with {@link SpringBootApplication}, enabling
  * auto-configuration and component scanning in the Spring context.
+ * The {@link ParkingRuntimeHints} prepare it for AOT and native images.
  */
 @SpringBootApplication
+@ImportRuntimeHints(ParkingRuntimeHints.class)
 public class Application {
 
     private static final Logger logger = LoggerFactory.getLogger(Application.class);
@@ -0,0 +1,242 @@
+package com.drop.solution.parking.lot.analytics;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.drop.solution.parking.lot.model.LotSnapshot;
+import com.drop.solution.parking.lot.model.ParkingAlert;
+import com.drop.solution.parking.lot.model.ParkingEvent;
+import com.drop.solution.parking.lot.service.ParkingEventListener;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Detects cars that overstay and plates that park suspiciously often.
+ *
+ * Parked cars are kept in a set ordered by overstay deadline, so a check only
+ * looks at the cars whose deadline has passed. Parks within the sliding window
+ * are kept in arrival order next to a count per plate, and expire from the
+ * head of that queue, or once the queue holds its maximum number of parks.
+ * Work is therefore proportional to events and alerts, not to the size of the
+ * lot. Alerts are logged and the most recent ones retained for the analytics
+ * endpoint. Overstays are logged after the monitor is released, since
+ * {@link #onEvent} is called while the engine holds its mutation lock.
+ */
+@Component
+public class AnomalyDetector implements ParkingEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnomalyDetector.class);
+
+    /**
+     * A car currently parked, ordered by the time it starts to overstay.
+     */
+    private record Stay(String licensePlate, int slot, long parkedAt, long deadline) {
+    }
+
+    private record Park(String licensePlate, long timestamp) {
+    }
+
+    private static final Comparator<Stay> BY_DEADLINE =
+            Comparator.comparingLong(Stay::deadline).thenComparing(Stay::licensePlate);
+
+    private final long overstayMillis;
+    private final long windowMillis;
+    private final int maxParksPerWindow;
+    private final int maxAlerts;
+    private final int maxWindowEntries;
+    private final long scanIntervalSeconds;
+    private final NavigableSet<Stay> deadlines = new TreeSet<>(BY_DEADLINE); // Guarded by this
+    private final Map<String, Stay> stays = new HashMap<>();              // Parked cars by plate, guarded by this
+    private final Deque<Park> window = new ArrayDeque<>();                // Parks within the window, oldest first, guarded by this
+    private final Map<String, Integer> parksInWindow = new HashMap<>();   // Guarded by this
+    private final Deque<ParkingAlert> alerts = new ArrayDeque<>();        // Most recent alerts, oldest first, guarded by this
+    private ScheduledExecutorService scanner;
+
+    /**
+     * Constructs an AnomalyDetector with the given limits.
+     *
+     * @param overstayMinutes how long a car may stay before it is reported
+     * @param windowMinutes the length of the sliding window parks are counted in
+     * @param maxParksPerWindow how often a plate may park within the window before it is reported
+     * @param maxAlerts the number of recent alerts retained
+     * @param maxWindowEntries the number of parks kept in the window before the oldest are dropped
+     * @param scanIntervalSeconds how often overstays are checked
+     */
+    public AnomalyDetector(@Value("${parking.anomaly.overstay-minutes:1440}") long overstayMinutes,
+                           @Value("${parking.anomaly.window-minutes:60}") long windowMinutes,
+                           @Value("${parking.anomaly.max-parks-per-window:10}") int maxParksPerWindow,
+                           @Value("${parking.anomaly.max-alerts:1000}") int maxAlerts,
+                           @Value("${parking.anomaly.max-window-entries:100000}") int maxWindowEntries,
+                           @Value("${parking.anomaly.scan-interval-seconds:30}") long scanIntervalSeconds) {
+        this.overstayMillis = TimeUnit.MINUTES.toMillis(overstayMinutes);
+        this.windowMillis = TimeUnit.MINUTES.toMillis(windowMinutes);
+        this.maxParksPerWindow = maxParksPerWindow;
+        this.maxAlerts = maxAlerts;
+        this.maxWindowEntries = Math.max(maxWindowEntries, 1);
+        this.scanIntervalSeconds = scanIntervalSeconds;
+        logger.info("AnomalyDetector initialized with an overstay limit of {} minutes and {} parks per {} minutes.",
+                overstayMinutes, maxParksPerWindow, windowMinutes);
+    }
+
+    /**
+     * Starts the periodic overstay check.
+     */
+    @PostConstruct
+    public void start() {
+        scanner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "anomaly-scanner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scanner.scheduleWithFixedDelay(() -> check(System.currentTimeMillis()),
+                scanIntervalSeconds, scanIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops the periodic overstay check.
+     */
+    @PreDestroy
+    public void stop() {
+        if (scanner != null) {
+            scanner.shutdownNow();
+        }
+    }
+
+    /**
+     * Tracks the deadline of a parked car and counts its park in the window.
+     *
+     * @param event the mutation that was applied
+     */
+    @Override
+    public synchronized void onEvent(ParkingEvent event) {
+        if (event.getType() == ParkingEvent.Type.PARK) {
+            track(event.getLicensePlate(), event.getSlot(), event.getParkedAt());
+            expireWindow(event.getTimestamp());
+            if (window.size() == maxWindowEntries) { // A burst of parks must not grow the window without limit
+                dropOldestPark();
+            }
+            window.addLast(new Park(event.getLicensePlate(), event.getTimestamp()));
+            int parks = parksInWindow.merge(event.getLicensePlate(), 1, Integer::sum);
+            if (parks == maxParksPerWindow + 1) { // Reported once each time the plate crosses the limit
+                ParkingAlert alert = new ParkingAlert(ParkingAlert.Type.FREQUENT_PARKING, event.getLicensePlate(),
+                        event.getSlot(), event.getTimestamp(),
+                        String.format("Car with license plate %s parked %d times within %d minutes.",
+                                event.getLicensePlate(), parks, TimeUnit.MILLISECONDS.toMinutes(windowMillis)));
+                logger.warn("{}: {}", alert.getType(), alert.getMessage());
+                retain(alert);
+            }
+        } else if (event.getType() == ParkingEvent.Type.UNPARK) {
+            Stay stay = stays.remove(event.getLicensePlate());
+            if (stay != null) {
+                deadlines.remove(stay);
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the overstay deadlines from the restored lot. Park counts start over.
+     *
+     * @param snapshot the state the lot was reset to
+     */
+    @Override
+    public synchronized void onReset(LotSnapshot snapshot) {
+        deadlines.clear();
+        stays.clear();
+        window.clear();
+        parksInWindow.clear();
+        snapshot.getSlots().forEach((slot, car) -> track(car.getLicensePlate(), slot, car.getParkedAt()));
+    }
+
+    /**
+     * Reports the cars whose overstay deadline has passed and expires parks
+     * that left the window. Each overstaying car is reported once per stay.
+     *
+     * @param now the current time in epoch milliseconds
+     * @return the number of overstay alerts raised
+     */
+    public int check(long now) {
+        List<Stay> overstays = new ArrayList<>();
+        synchronized (this) {
+            expireWindow(now);
+            Iterator<Stay> due = deadlines.iterator();
+            while (due.hasNext()) {
+                Stay stay = due.next();
+                if (stay.deadline() > now) {
+                    break;
+                }
+                due.remove(); // Still in stays, so the unpark is handled as usual
+                overstays.add(stay);
+            }
+        }
+        List<ParkingAlert> raised = new ArrayList<>(overstays.size());
+        for (Stay stay : overstays) {
+            ParkingAlert alert = new ParkingAlert(ParkingAlert.Type.OVERSTAY, stay.licensePlate(), stay.slot(), now,
+                    String.format("Car with license plate %s has been parked in slot %d for %d minutes.",
+                            stay.licensePlate(), stay.slot(), TimeUnit.MILLISECONDS.toMinutes(now - stay.parkedAt())));
+            logger.warn("{}: {}", alert.getType(), alert.getMessage());
+            raised.add(alert);
+        }
+        synchronized (this) {
+            raised.forEach(this::retain);
+        }
+        return raised.size();
+    }
+
+    /**
+     * Returns the most recent alerts.
+     *
+     * @param limit the maximum number of alerts to return
+     * @return the alerts, oldest first
+     */
+    public synchronized List<ParkingAlert> getAlerts(int limit) {
+        List<ParkingAlert> recent = new ArrayList<>(alerts);
+        return recent.subList(Math.max(0, recent.size() - Math.max(limit, 0)), recent.size());
+    }
+
+    private void track(String licensePlate, int slot, long parkedAt) {
+        Stay stay = new Stay(licensePlate, slot, parkedAt, parkedAt + overstayMillis);
+        Stay previous = stays.put(licensePlate, stay);
+        if (previous != null) {
+            deadlines.remove(previous);
+        }
+        deadlines.add(stay);
+    }
+
+    private void expireWindow(long now) {
+        while (!window.isEmpty() && window.peekFirst().timestamp() <= now - windowMillis) {
+            dropOldestPark();
+        }
+    }
+
+    private void dropOldestPark() {
+        String licensePlate = window.pollFirst().licensePlate();
+        parksInWindow.computeIfPresent(licensePlate, (plate, parks) -> parks == 1 ? null : parks - 1);
+    }
+
+    private void retain(ParkingAlert alert) {
+        if (maxAlerts == 0) {
+            return;
+        }
+        if (alerts.size() == maxAlerts) {
+            alerts.pollFirst();
+        }
+        alerts.addLast(alert);
+    }
+}
@@ -0,0 +1,102 @@
+package com.drop.solution.parking.lot.analytics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Log-linear histogram of dwell times in the style of HdrHistogram.
+ *
+ * Values below 128 ms are counted exactly. Above that every power of two is
+ * split into 64 linear sub-buckets, which bounds the relative error of a
+ * reported value to under 1%. Values up to 2^40 ms (about 35 years) fit in
+ * a fixed array of 2,240 counters; larger values are clamped. Recording uses
+ * atomic updates only and never blocks.
+ */
+class DwellTimeHistogram {
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;      // 128 exact values
+    private static final int SUB_BUCKET_HALF = SUB_BUCKET_COUNT >> 1;     // 64 sub-buckets per power of two
+    private static final int MAX_EXPONENT = 40;
+    private static final long MAX_VALUE = (1L << MAX_EXPONENT) - 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(indexOf(MAX_VALUE) + 1);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong totalMillis = new AtomicLong();
+    private final AtomicLong minMillis = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong maxMillis = new AtomicLong();
+
+    /**
+     * Records a dwell time.
+     *
+     * @param millis the dwell time in milliseconds; negative values count as 0
+     */
+    void record(long millis) {
+        long value = Math.min(Math.max(millis, 0), MAX_VALUE);
+        counts.incrementAndGet(indexOf(value));
+        totalCount.incrementAndGet();
+        totalMillis.addAndGet(value);
+        minMillis.accumulateAndGet(value, Math::min);
+        maxMillis.accumulateAndGet(value, Math::max);
+    }
+
+    long getCount() {
+        return totalCount.get();
+    }
+
+    long getMin() {
+        return totalCount.get() == 0 ? 0 : minMillis.get();
+    }
+
+    long getMax() {
+        return maxMillis.get();
+    }
+
+    double getMean() {
+        long count = totalCount.get();
+        return count == 0 ? 0 : (double) totalMillis.get() / count;
+    }
+
+    /**
+     * Returns the value at the given percentile.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the midpoint of the bucket holding the percentile, capped at the maximum
+     */
+    long getValueAtPercentile(double percentile) {
+        long count = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            count += counts.get(i);
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(midpointOf(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF + (int) ((value >>> shift) - SUB_BUCKET_HALF);
+    }
+
+    static long midpointOf(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF + 1;
+        long subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_HALF + SUB_BUCKET_HALF;
+        long lowest = subBucket << shift;
+        return lowest + (1L << (shift - 1));
+    }
+}
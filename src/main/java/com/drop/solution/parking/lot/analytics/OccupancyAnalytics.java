@@ -0,0 +1,131 @@
+package com.drop.solution.parking.lot.analytics;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.drop.solution.parking.lot.model.DwellTimeSummary;
+import com.drop.solution.parking.lot.model.LotSnapshot;
+import com.drop.solution.parking.lot.model.OccupancySample;
+import com.drop.solution.parking.lot.model.ParkingEvent;
+import com.drop.solution.parking.lot.service.ParkingEventListener;
+
+/**
+ * Occupancy and dwell-time analytics fed by the park and unpark path.
+ *
+ * Occupancy is kept in per-minute, per-hour and per-day ring buffers covering
+ * one day, one week and one year, and dwell times in a log-linear histogram.
+ * All structures are allocated up front, so memory does not grow with traffic,
+ * and updates use atomic writes only.
+ */
+@Component
+public class OccupancyAnalytics implements ParkingEventListener {
+
+    /**
+     * The resolutions occupancy can be queried at.
+     */
+    public enum Resolution {
+        MINUTE(TimeUnit.MINUTES.toMillis(1), 24 * 60),
+        HOUR(TimeUnit.HOURS.toMillis(1), 7 * 24),
+        DAY(TimeUnit.DAYS.toMillis(1), 366);
+
+        private final long intervalMillis;
+        private final int capacity;
+
+        Resolution(long intervalMillis, int capacity) {
+            this.intervalMillis = intervalMillis;
+            this.capacity = capacity;
+        }
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(OccupancyAnalytics.class);
+
+    private final Map<Resolution, OccupancyTimeSeries> series = new LinkedHashMap<>();
+    private final DwellTimeHistogram dwellTimes = new DwellTimeHistogram();
+    private volatile long occupancy; // Written only by the parking engine's event delivery
+
+    /**
+     * Constructs an OccupancyAnalytics with empty time series.
+     */
+    public OccupancyAnalytics() {
+        for (Resolution resolution : Resolution.values()) {
+            series.put(resolution, new OccupancyTimeSeries(resolution.intervalMillis, resolution.capacity));
+        }
+        logger.info("OccupancyAnalytics initialized.");
+    }
+
+    /**
+     * Records the occupancy change and, for departures, the dwell time of the car.
+     *
+     * @param event the mutation that was applied
+     */
+    @Override
+    public void onEvent(ParkingEvent event) {
+        long before = occupancy;
+        long after;
+        if (event.getType() == ParkingEvent.Type.PARK) {
+            after = before + 1;
+        } else if (event.getType() == ParkingEvent.Type.UNPARK) {
+            after = before - 1;
+            dwellTimes.record(event.getTimestamp() - event.getParkedAt());
+        } else {
+            return;
+        }
+        occupancy = after;
+        for (OccupancyTimeSeries timeSeries : series.values()) {
+            timeSeries.record(event.getTimestamp(), before, after);
+        }
+    }
+
+    /**
+     * Continues counting from the occupancy of the restored snapshot.
+     *
+     * @param snapshot the state the lot was reset to
+     */
+    @Override
+    public void onReset(LotSnapshot snapshot) {
+        occupancy = snapshot.getSlots().size();
+    }
+
+    /**
+     * Returns the current number of parked cars.
+     *
+     * @return the occupancy now
+     */
+    public long getOccupancy() {
+        return occupancy;
+    }
+
+    /**
+     * Returns the occupancy of the most recent intervals, oldest first.
+     *
+     * @param resolution the interval length
+     * @param limit the maximum number of intervals returned
+     * @return one sample per interval, ending with the current one
+     */
+    public List<OccupancySample> getOccupancy(Resolution resolution, int limit) {
+        return series.get(resolution).query(System.currentTimeMillis(), Math.max(limit, 1), occupancy);
+    }
+
+    /**
+     * Returns the dwell-time summary at the requested percentiles.
+     *
+     * @param percentiles the percentiles to report, clamped to 0 to 100
+     * @return the count, extremes, mean and requested percentiles of dwell times
+     */
+    public DwellTimeSummary getDwellTimes(List<Double> percentiles) {
+        Map<String, Long> values = new LinkedHashMap<>();
+        for (double percentile : percentiles) {
+            double bounded = Math.min(Math.max(percentile, 0), 100);
+            String key = bounded == Math.rint(bounded) ? "p" + (long) bounded : "p" + bounded;
+            values.put(key, dwellTimes.getValueAtPercentile(bounded));
+        }
+        return new DwellTimeSummary(dwellTimes.getCount(), dwellTimes.getMin(), dwellTimes.getMax(),
+                dwellTimes.getMean(), values);
+    }
+}
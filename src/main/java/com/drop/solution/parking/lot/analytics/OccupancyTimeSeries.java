@@ -0,0 +1,103 @@
+package com.drop.solution.parking.lot.analytics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.drop.solution.parking.lot.model.OccupancySample;
+
+/**
+ * Fixed-size ring buffer of occupancy per time interval.
+ *
+ * Each slot of the ring holds the interval it currently describes, so an
+ * interval is reset lazily when the ring wraps around to it. Intervals without
+ * any event are not stored; queries fill them with the occupancy carried over
+ * from the neighbouring intervals. Updates are plain atomic writes and never block.
+ */
+class OccupancyTimeSeries {
+
+    private static final int INTERVAL = 0;
+    private static final int OPEN = 1;     // Occupancy before the first event of the interval
+    private static final int MIN = 2;
+    private static final int MAX = 3;
+    private static final int LAST = 4;
+    private static final int PARKS = 5;
+    private static final int UNPARKS = 6;
+    private static final int FIELDS = 7;
+
+    private final long intervalMillis;
+    private final int capacity;
+    private final AtomicLongArray buckets;
+
+    /**
+     * Constructs an OccupancyTimeSeries.
+     *
+     * @param intervalMillis the length of one interval
+     * @param capacity the number of intervals retained
+     */
+    OccupancyTimeSeries(long intervalMillis, int capacity) {
+        this.intervalMillis = intervalMillis;
+        this.capacity = capacity;
+        this.buckets = new AtomicLongArray(capacity * FIELDS);
+        for (int i = 0; i < capacity; i++) {
+            buckets.set(i * FIELDS + INTERVAL, -1);
+        }
+    }
+
+    /**
+     * Records an occupancy change. Calls must not overlap; the parking engine
+     * delivers events one at a time.
+     *
+     * @param timestamp epoch milliseconds of the change
+     * @param before the occupancy before the change
+     * @param after the occupancy after the change
+     */
+    void record(long timestamp, long before, long after) {
+        long interval = timestamp / intervalMillis;
+        int base = (int) (interval % capacity) * FIELDS;
+        if (buckets.get(base + INTERVAL) != interval) {
+            buckets.set(base + OPEN, before);
+            buckets.set(base + MIN, before);
+            buckets.set(base + MAX, before);
+            buckets.set(base + PARKS, 0);
+            buckets.set(base + UNPARKS, 0);
+            buckets.set(base + INTERVAL, interval);
+        }
+        if (after < buckets.get(base + MIN)) {
+            buckets.set(base + MIN, after);
+        }
+        if (after > buckets.get(base + MAX)) {
+            buckets.set(base + MAX, after);
+        }
+        buckets.set(base + LAST, after);
+        buckets.incrementAndGet(base + (after > before ? PARKS : UNPARKS));
+    }
+
+    /**
+     * Returns the most recent intervals, oldest first.
+     *
+     * @param now epoch milliseconds of the query
+     * @param limit the maximum number of intervals returned
+     * @param occupancy the occupancy now, carried into intervals without events
+     * @return one sample per interval, ending with the current one
+     */
+    List<OccupancySample> query(long now, int limit, long occupancy) {
+        int count = Math.min(limit, capacity);
+        long current = now / intervalMillis;
+        OccupancySample[] samples = new OccupancySample[count];
+        long carry = occupancy;
+        for (int i = count - 1; i >= 0; i--) {
+            long interval = current - (count - 1 - i);
+            int base = (int) (Math.floorMod(interval, capacity)) * FIELDS;
+            if (buckets.get(base + INTERVAL) == interval) {
+                samples[i] = new OccupancySample(interval * intervalMillis, buckets.get(base + MIN),
+                        buckets.get(base + MAX), buckets.get(base + LAST), buckets.get(base + PARKS),
+                        buckets.get(base + UNPARKS));
+                carry = buckets.get(base + OPEN);
+            } else {
+                samples[i] = new OccupancySample(interval * intervalMillis, carry, carry, carry, 0, 0);
+            }
+        }
+        return new ArrayList<>(List.of(samples));
+    }
+}
@@ -0,0 +1,161 @@
+package com.drop.solution.parking.lot.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.drop.solution.parking.lot.exception.IdempotencyKeyReuseException;
+import com.drop.solution.parking.lot.model.SuccessResponse;
+
+/**
+ * Bounded, time-evicted cache of parking operation outcomes keyed by the
+ * client supplied {@code Idempotency-Key} header.
+ *
+ * The first request for a key runs the operation; retries with the same key
+ * replay the stored response without touching the parking engine or the rate
+ * limiter. Concurrent duplicates wait for the in-flight original instead of
+ * running a second time. Only successful outcomes are retained, so a retry
+ * after a transient failure (lot full, rate limited) is evaluated again.
+ *
+ * Entries are kept in insertion order under the cache monitor, which is only
+ * held for map bookkeeping, never while an operation runs. Adding, dropping a
+ * failed entry and evicting the oldest entry are constant time. Entries still
+ * in flight are never evicted, so a concurrent retry cannot run them twice.
+ */
+@Component
+public class IdempotencyCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyCache.class);
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>(); // Oldest first, TTL is uniform; guarded by this
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    /**
+     * Constructs an IdempotencyCache with the given bounds.
+     *
+     * @param maxEntries the maximum number of outcomes retained at once
+     * @param ttlSeconds how long an outcome is replayed after it was first produced
+     */
+    public IdempotencyCache(@Value("${parking.idempotency.max-entries:10000}") int maxEntries,
+                            @Value("${parking.idempotency.ttl-seconds:600}") long ttlSeconds) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        logger.info("IdempotencyCache initialized with {} entries and a TTL of {} seconds.", maxEntries, ttlSeconds);
+    }
+
+    /**
+     * Returns the outcome stored for the key, or runs the operation and stores its outcome.
+     *
+     * @param operation the name of the operation, keys are scoped per operation
+     * @param key the idempotency key supplied by the client
+     * @param licensePlate the license plate the request refers to
+     * @param action the operation to run when no outcome is stored for the key
+     * @return the original or freshly produced response
+     * @throws IdempotencyKeyReuseException if the key was already used for another license plate
+     */
+    public SuccessResponse execute(String operation, String key, String licensePlate,
+                                   Supplier<SuccessResponse> action) {
+        String scopedKey = operation + ':' + key;
+        long now = System.nanoTime();
+        Entry candidate = new Entry(licensePlate, now + ttlNanos);
+
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(scopedKey);
+            if (entry == null || entry.isExpired(now)) {
+                entries.remove(scopedKey); // Re-inserted at the tail
+                entries.put(scopedKey, candidate);
+                entry = candidate;
+            }
+        }
+
+        if (!entry.licensePlate.equals(licensePlate)) {
+            String message = String.format("Idempotency key %s was already used for license plate %s.",
+                    key, entry.licensePlate);
+            logger.warn(message);
+            throw new IdempotencyKeyReuseException(message);
+        }
+
+        if (entry != candidate) {
+            logger.info("Replaying {} outcome for idempotency key {}.", operation, key);
+            return await(entry);
+        }
+
+        try {
+            SuccessResponse response = action.get();
+            candidate.outcome.complete(response);
+            return response;
+        } catch (RuntimeException ex) {
+            candidate.outcome.completeExceptionally(ex);
+            synchronized (this) {
+                entries.remove(scopedKey, candidate);
+            }
+            throw ex;
+        } finally {
+            evict(System.nanoTime());
+        }
+    }
+
+    /**
+     * Returns the number of outcomes currently retained.
+     *
+     * @return the number of cached entries
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private SuccessResponse await(Entry entry) {
+        try {
+            return entry.outcome.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Drops expired entries and, while the cache is over its bound, the oldest
+     * ones. In-flight entries are stepped over; there are at most as many of
+     * them as concurrent requests.
+     */
+    private synchronized void evict(long now) {
+        Iterator<Entry> oldestFirst = entries.values().iterator();
+        while (oldestFirst.hasNext()) {
+            Entry entry = oldestFirst.next();
+            if (entries.size() <= maxEntries && !entry.isExpired(now)) {
+                return;
+            }
+            if (entry.outcome.isDone()) {
+                oldestFirst.remove();
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final String licensePlate;
+        private final long expiresAt;
+        private final CompletableFuture<SuccessResponse> outcome = new CompletableFuture<>();
+
+        private Entry(String licensePlate, long expiresAt) {
+            this.licensePlate = licensePlate;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAt > 0;
+        }
+    }
+}
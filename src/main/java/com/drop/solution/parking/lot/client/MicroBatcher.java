@@ -0,0 +1,84 @@
+package com.drop.solution.parking.lot.client;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+import com.drop.solution.parking.lot.model.SuccessResponse;
+
+/**
+ * Collects license plates submitted within a short window into one batch.
+ *
+ * The first plate of a batch opens the window; the batch is sent when the
+ * window closes or as soon as it reaches the maximum size, whichever comes first.
+ */
+class MicroBatcher {
+
+    /**
+     * A plate waiting in a batch together with the future of its caller.
+     */
+    static final class Pending {
+        final String licensePlate;
+        final CompletableFuture<SuccessResponse> result = new CompletableFuture<>();
+
+        Pending(String licensePlate) {
+            this.licensePlate = licensePlate;
+        }
+    }
+
+    private final int maxBatchSize;
+    private final Executor windowCloser;
+    private final Consumer<List<Pending>> sender;
+    private List<Pending> pending = new ArrayList<>(); // Guarded by this
+
+    /**
+     * Constructs a MicroBatcher.
+     *
+     * @param maxBatchSize the largest batch sent in one request
+     * @param windowCloser runs a flush once the batching window has elapsed
+     * @param sender sends a batch; it completes the futures of the batch
+     */
+    MicroBatcher(int maxBatchSize, Executor windowCloser, Consumer<List<Pending>> sender) {
+        this.maxBatchSize = maxBatchSize;
+        this.windowCloser = windowCloser;
+        this.sender = sender;
+    }
+
+    CompletableFuture<SuccessResponse> submit(String licensePlate) {
+        Pending item = new Pending(licensePlate);
+        List<Pending> full = null;
+        boolean opensWindow = false;
+        synchronized (this) {
+            pending.add(item);
+            if (pending.size() >= maxBatchSize) {
+                full = pending;
+                pending = new ArrayList<>();
+            } else {
+                opensWindow = pending.size() == 1;
+            }
+        }
+        if (full != null) {
+            sender.accept(full);
+        } else if (opensWindow) {
+            windowCloser.execute(this::flush);
+        }
+        return item.result;
+    }
+
+    /**
+     * Sends whatever is pending now.
+     */
+    void flush() {
+        List<Pending> batch;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new ArrayList<>();
+        }
+        sender.accept(batch);
+    }
+}
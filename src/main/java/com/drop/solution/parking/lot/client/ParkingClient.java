@@ -0,0 +1,351 @@
+package com.drop.solution.parking.lot.client;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.drop.solution.parking.lot.model.SlotInfo;
+import com.drop.solution.parking.lot.model.SuccessResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Asynchronous Java client for the {@code /api/parking} endpoints, for gate integrations.
+ *
+ * All calls return immediately with a CompletableFuture. Requests share one
+ * HTTP/1.1 client that keeps connections alive and reuses them. Park and unpark
+ * calls issued within a short window are combined into one request to the
+ * batch endpoints; a server without them is detected on the first batch and
+ * served one car per request from then on. A batch rejected with 413 Payload
+ * Too Large exceeds the server's rate limit per period; it is split in half,
+ * and later batches stay at that size. Responses with 429 Too Many
+ * Requests are retried with exponential backoff and full jitter.
+ *
+ * A failed call completes its future with a {@link ParkingClientException}
+ * carrying the HTTP status and server message of that car.
+ */
+public class ParkingClient implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParkingClient.class);
+    private static final int PAYLOAD_TOO_LARGE = 413;
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final int DEFAULT_MAX_BATCH_SIZE = 100;
+    private static final Duration DEFAULT_BATCH_WINDOW = Duration.ofMillis(2);
+    private static final int DEFAULT_MAX_RETRIES = 5;
+    private static final Duration DEFAULT_BASE_BACKOFF = Duration.ofMillis(200);
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(30);
+
+    private final URI baseUri;
+    private final String authorization;
+    private final int maxRetries;
+    private final long baseBackoffMillis;
+    private final ExecutorService executor;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final MicroBatcher parkBatcher;
+    private final MicroBatcher unparkBatcher;
+    private final AtomicLong requestsSent = new AtomicLong();
+    private volatile boolean batchUnsupported;
+    private volatile int batchLimit; // Largest batch the server admits, lowered on 413
+
+    /**
+     * Constructs a ParkingClient with the default batching and retry settings:
+     * batches of up to 100 cars collected for 2 ms, and up to 5 retries of a
+     * rate-limited request starting at 200 ms.
+     *
+     * @param baseUri the root of the application, such as {@code http://localhost:8080}
+     * @param username the HTTP Basic user name
+     * @param password the HTTP Basic password
+     */
+    public ParkingClient(URI baseUri, String username, String password) {
+        this(baseUri, username, password, DEFAULT_MAX_BATCH_SIZE, DEFAULT_BATCH_WINDOW, DEFAULT_MAX_RETRIES,
+                DEFAULT_BASE_BACKOFF);
+    }
+
+    /**
+     * Constructs a ParkingClient.
+     *
+     * @param baseUri the root of the application, such as {@code http://localhost:8080}
+     * @param username the HTTP Basic user name
+     * @param password the HTTP Basic password
+     * @param maxBatchSize the most park or unpark calls combined into one request; 1 disables batching
+     * @param batchWindow how long the first call of a batch waits for others to join it
+     * @param maxRetries how often a request answered with 429 is retried before its future fails
+     * @param baseBackoff the backoff ceiling of the first retry; it doubles with every retry
+     */
+    public ParkingClient(URI baseUri, String username, String password, int maxBatchSize, Duration batchWindow,
+                         int maxRetries, Duration baseBackoff) {
+        this.baseUri = URI.create(baseUri.toString().replaceAll("/+$", "") + "/");
+        this.authorization = "Basic " + Base64.getEncoder()
+                .encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+        this.maxRetries = maxRetries;
+        this.baseBackoffMillis = Math.max(1, baseBackoff.toMillis());
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "parking-client-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(executor)
+                .build();
+        int batchSize = Math.min(Math.max(maxBatchSize, 1), 1000);
+        this.batchLimit = batchSize;
+        this.parkBatcher = new MicroBatcher(batchSize, windowCloser(batchWindow), batch -> sendBatch("park", batch));
+        this.unparkBatcher = new MicroBatcher(batchSize, windowCloser(batchWindow), batch -> sendBatch("unpark", batch));
+        logger.info("ParkingClient for {} initialized with batches of up to {} cars.", this.baseUri, batchSize);
+    }
+
+    /**
+     * Parks a car.
+     *
+     * @param licensePlate the license plate of the car
+     * @return a future completed with the parking result
+     */
+    public CompletableFuture<SuccessResponse> park(String licensePlate) {
+        return parkBatcher.submit(licensePlate);
+    }
+
+    /**
+     * Unparks a car.
+     *
+     * @param licensePlate the license plate of the car
+     * @return a future completed with the unparking result
+     */
+    public CompletableFuture<SuccessResponse> unpark(String licensePlate) {
+        return unparkBatcher.submit(licensePlate);
+    }
+
+    /**
+     * Retrieves information about a parking slot.
+     *
+     * @param slot the number of the slot
+     * @return a future completed with the slot information
+     */
+    public CompletableFuture<SuccessResponse> getSlotInfo(int slot) {
+        return send(request("api/parking/slot?slot=" + slot).GET().build())
+                .thenApply(this::toSuccessResponse);
+    }
+
+    /**
+     * Retrieves all occupied parking slots.
+     *
+     * @return a future completed with the occupied slots in slot order
+     */
+    public CompletableFuture<List<SlotInfo>> getOccupiedSlots() {
+        return send(request("api/parking/slots").GET().build()).thenApply(response -> {
+            JsonNode slots = readBody(response);
+            List<SlotInfo> occupied = new ArrayList<>(slots.size());
+            slots.forEach(slot -> occupied.add(new SlotInfo(slot.path("slot").asInt(), slot.path("licensePlate").asText())));
+            return occupied;
+        });
+    }
+
+    /**
+     * Returns the number of HTTP requests sent so far, including retries.
+     *
+     * @return the request count
+     */
+    public long getRequestsSent() {
+        return requestsSent.get();
+    }
+
+    /**
+     * Sends the pending batches and releases the client's threads. Calls that
+     * are still in flight may not complete afterwards.
+     */
+    @Override
+    public void close() {
+        parkBatcher.flush();
+        unparkBatcher.flush();
+        executor.shutdown();
+    }
+
+    private Executor windowCloser(Duration batchWindow) {
+        if (batchWindow.isZero() || batchWindow.isNegative()) {
+            return Runnable::run;
+        }
+        return CompletableFuture.delayedExecutor(batchWindow.toNanos(), TimeUnit.NANOSECONDS, executor);
+    }
+
+    private void sendBatch(String operation, List<MicroBatcher.Pending> batch) {
+        if (batch.size() == 1 || batchUnsupported) {
+            batch.forEach(item -> sendSingle(operation, item));
+            return;
+        }
+        int limit = batchLimit;
+        if (batch.size() > limit) {
+            for (int from = 0; from < batch.size(); from += limit) {
+                sendBatch(operation, batch.subList(from, Math.min(from + limit, batch.size())));
+            }
+            return;
+        }
+        List<String> licensePlates = new ArrayList<>(batch.size());
+        batch.forEach(item -> licensePlates.add(item.licensePlate));
+        HttpRequest request = request("api/parking/" + operation + "/batch")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(toJson(Map.of("licensePlates", licensePlates))))
+                .build();
+        send(request).whenComplete((response, failure) -> {
+            if (failure != null) {
+                batch.forEach(item -> item.result.completeExceptionally(unwrap(failure)));
+            } else if (response.statusCode() == 404 || response.statusCode() == 405) {
+                logger.info("Server at {} has no batch endpoints; sending one car per request.", baseUri);
+                batchUnsupported = true;
+                batch.forEach(item -> sendSingle(operation, item));
+            } else if (response.statusCode() == PAYLOAD_TOO_LARGE) {
+                batchLimit = Math.max(1, Math.min(batchLimit, batch.size() / 2));
+                logger.info("Server at {} rejected a batch of {} cars; sending batches of up to {}.",
+                        baseUri, batch.size(), batchLimit);
+                sendBatch(operation, batch);
+            } else if (response.statusCode() != 200) {
+                ParkingClientException error = toException(response);
+                batch.forEach(item -> item.result.completeExceptionally(error));
+            } else {
+                completeBatch(batch, response);
+            }
+        });
+    }
+
+    private void completeBatch(List<MicroBatcher.Pending> batch, HttpResponse<String> response) {
+        try {
+            JsonNode results = readBody(response);
+            for (int i = 0; i < batch.size(); i++) {
+                JsonNode result = results.path(i);
+                String message = result.path("message").asText(null);
+                int status = result.path("status").asInt(500);
+                if (status == 200) {
+                    batch.get(i).result.complete(new SuccessResponse(message));
+                } else {
+                    batch.get(i).result.completeExceptionally(new ParkingClientException(status, message));
+                }
+            }
+        } catch (RuntimeException ex) {
+            batch.forEach(item -> item.result.completeExceptionally(ex));
+        }
+    }
+
+    private void sendSingle(String operation, MicroBatcher.Pending item) {
+        HttpRequest request;
+        if (operation.equals("park")) {
+            request = request("api/parking/park")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(toJson(Map.of("licensePlate", item.licensePlate))))
+                    .build();
+        } else {
+            request = request("api/parking/unpark?licensePlate="
+                    + URLEncoder.encode(item.licensePlate, StandardCharsets.UTF_8)).DELETE().build();
+        }
+        send(request).thenApply(this::toSuccessResponse).whenComplete((response, failure) -> {
+            if (failure != null) {
+                item.result.completeExceptionally(unwrap(failure));
+            } else {
+                item.result.complete(response);
+            }
+        });
+    }
+
+    /**
+     * Sends a request, retrying it after a jittered, exponentially growing
+     * delay while the server answers 429 Too Many Requests.
+     */
+    private CompletableFuture<HttpResponse<String>> send(HttpRequest request) {
+        return send(request, 0);
+    }
+
+    private CompletableFuture<HttpResponse<String>> send(HttpRequest request, int retry) {
+        requestsSent.incrementAndGet();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString()).thenCompose(response -> {
+            if (response.statusCode() != TOO_MANY_REQUESTS || retry >= maxRetries) {
+                return CompletableFuture.completedFuture(response);
+            }
+            long delay = backoffMillis(retry, response.headers().firstValueAsLong("Retry-After"));
+            logger.debug("Rate limited on {}; retry {} in {} ms.", request.uri(), retry + 1, delay);
+            return CompletableFuture.runAsync(() -> { },
+                            CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS, executor))
+                    .thenCompose(ignored -> send(request, retry + 1));
+        });
+    }
+
+    /**
+     * Full jitter: a uniformly random delay below a ceiling that doubles with
+     * every retry, so rate-limited gates do not retry in lockstep. A
+     * Retry-After header raises the delay to at least the advertised time.
+     */
+    private long backoffMillis(int retry, OptionalLong retryAfterSeconds) {
+        long ceiling = Math.min(MAX_BACKOFF.toMillis(), baseBackoffMillis << Math.min(retry, 20));
+        long delay = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        return Math.max(delay, TimeUnit.SECONDS.toMillis(retryAfterSeconds.orElse(0)));
+    }
+
+    private static Throwable unwrap(Throwable failure) {
+        return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", authorization)
+                .header("Accept", "application/json");
+    }
+
+    private SuccessResponse toSuccessResponse(HttpResponse<String> response) {
+        if (response.statusCode() != 200) {
+            throw toException(response);
+        }
+        return new SuccessResponse(readBody(response).path("message").asText(null));
+    }
+
+    private ParkingClientException toException(HttpResponse<String> response) {
+        String message = response.body();
+        try {
+            JsonNode error = objectMapper.readTree(response.body());
+            if (error != null && error.hasNonNull("message")) {
+                message = error.get("message").asText();
+            }
+        } catch (JsonProcessingException ex) {
+            // Not an ErrorDetails body, e.g. from a proxy; keep the raw text
+        }
+        return new ParkingClientException(response.statusCode(), message);
+    }
+
+    private JsonNode readBody(HttpResponse<String> response) {
+        try {
+            return objectMapper.readTree(response.body());
+        } catch (JsonProcessingException ex) {
+            throw new ParkingClientException(response.statusCode(), "Unreadable response: " + ex.getOriginalMessage());
+        }
+    }
+
+    private String toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Unable to encode request body", ex);
+        }
+    }
+}
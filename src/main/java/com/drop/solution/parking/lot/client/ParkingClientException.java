@@ -0,0 +1,31 @@
+package com.drop.solution.parking.lot.client;
+
+/**
+ * Exception completing a {@link ParkingClient} future when the parking API
+ * refuses a request, carrying the HTTP status and the error message the
+ * server returned.
+ */
+public class ParkingClientException extends RuntimeException {
+
+    private final int statusCode;
+
+    /**
+     * Constructs a new ParkingClientException.
+     *
+     * @param statusCode the HTTP status returned for the request or batch item
+     * @param message the error message returned by the server
+     */
+    public ParkingClientException(int statusCode, String message) {
+        super(message);
+        this.statusCode = statusCode;
+    }
+
+    /**
+     * Returns the HTTP status returned for the request or batch item.
+     *
+     * @return the HTTP status code, such as 409 for a full lot
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+}
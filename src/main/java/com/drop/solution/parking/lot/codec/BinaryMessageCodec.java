@@ -0,0 +1,186 @@
+package com.drop.solution.parking.lot.codec;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+import com.drop.solution.parking.lot.model.CarDetailsRequest;
+import com.drop.solution.parking.lot.model.ErrorDetails;
+import com.drop.solution.parking.lot.model.SuccessResponse;
+
+/**
+ * Compact binary encoding of the parking API messages for gate devices.
+ *
+ * Every message starts with a one byte type tag followed by its fields in
+ * declaration order. Integers are unsigned LEB128 varints and strings are a
+ * varint byte length plus one (0 meaning null) followed by UTF-8 bytes.
+ * Timestamps travel as epoch milliseconds in UTC. Each type is encoded by hand,
+ * without reflection.
+ */
+public final class BinaryMessageCodec {
+
+    /**
+     * The media type of the binary encoding.
+     */
+    public static final String MEDIA_TYPE = "application/x-parking-binary";
+
+    private static final byte CAR_DETAILS_REQUEST = 1;
+    private static final byte SUCCESS_RESPONSE = 2;
+    private static final byte ERROR_DETAILS = 3;
+
+    private BinaryMessageCodec() {
+    }
+
+    /**
+     * Returns whether the given type has a binary encoding.
+     *
+     * @param type the message type
+     * @return true if messages of this type can be encoded and decoded
+     */
+    public static boolean supports(Class<?> type) {
+        return type == CarDetailsRequest.class || type == SuccessResponse.class || type == ErrorDetails.class;
+    }
+
+    /**
+     * Encodes a message.
+     *
+     * @param message the message to encode
+     * @return the encoded bytes
+     * @throws IllegalArgumentException if the message type has no binary encoding
+     */
+    public static byte[] encode(Object message) {
+        Writer out = new Writer();
+        if (message instanceof SuccessResponse response) {
+            out.write(SUCCESS_RESPONSE);
+            writeString(out, response.getMessage());
+        } else if (message instanceof ErrorDetails error) {
+            out.write(ERROR_DETAILS);
+            writeVarLong(out, error.getTimeStamp() == null ? 0
+                    : error.getTimeStamp().toInstant(ZoneOffset.UTC).toEpochMilli() + 1);
+            writeString(out, error.getMessage());
+            writeVarLong(out, error.getStatusCode());
+            writeString(out, error.getDetails());
+        } else if (message instanceof CarDetailsRequest request) {
+            out.write(CAR_DETAILS_REQUEST);
+            writeString(out, request.getLicensePlate());
+        } else {
+            throw new IllegalArgumentException("No binary encoding for " + message.getClass().getName());
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes a message of the expected type.
+     *
+     * @param type the expected message type
+     * @param body the encoded bytes
+     * @param <T> the message type
+     * @return the decoded message
+     * @throws IllegalArgumentException if the bytes do not hold a message of the expected type
+     */
+    public static <T> T decode(Class<T> type, byte[] body) {
+        ByteBuffer in = ByteBuffer.wrap(body);
+        try {
+            byte tag = in.get();
+            Object message;
+            if (tag == SUCCESS_RESPONSE && type == SuccessResponse.class) {
+                message = new SuccessResponse(readString(in));
+            } else if (tag == ERROR_DETAILS && type == ErrorDetails.class) {
+                long millis = readVarLong(in);
+                LocalDateTime timeStamp = millis == 0 ? null
+                        : LocalDateTime.ofInstant(Instant.ofEpochMilli(millis - 1), ZoneOffset.UTC);
+                message = new ErrorDetails(timeStamp, readString(in), (int) readVarLong(in), readString(in));
+            } else if (tag == CAR_DETAILS_REQUEST && type == CarDetailsRequest.class) {
+                CarDetailsRequest request = new CarDetailsRequest();
+                request.setLicensePlate(readString(in));
+                message = request;
+            } else {
+                throw new IllegalArgumentException(String.format("Unexpected message tag %d for %s", tag, type.getSimpleName()));
+            }
+            if (in.hasRemaining()) {
+                throw new IllegalArgumentException(in.remaining() + " trailing bytes after " + type.getSimpleName());
+            }
+            return type.cast(message);
+        } catch (BufferUnderflowException ex) {
+            throw new IllegalArgumentException("Truncated " + type.getSimpleName() + " message", ex);
+        }
+    }
+
+    private static void writeString(Writer out, String value) {
+        if (value == null) {
+            out.write(0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length + 1L);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        long length = readVarLong(in);
+        if (length == 0) {
+            return null;
+        }
+        if (length < 0 || length - 1 > in.remaining()) { // Negative when the varint sets the sign bit
+            throw new IllegalArgumentException(String.format(
+                    "String length %s exceeds the %d remaining bytes", Long.toUnsignedString(length - 1), in.remaining()));
+        }
+        int size = (int) (length - 1);
+        String value = new String(in.array(), in.arrayOffset() + in.position(), size, StandardCharsets.UTF_8);
+        in.position(in.position() + size);
+        return value;
+    }
+
+    private static void writeVarLong(Writer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    /**
+     * Minimal unsynchronized growable byte buffer.
+     */
+    private static final class Writer {
+        private byte[] buffer = new byte[64];
+        private int position;
+
+        private void write(int b) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) b;
+        }
+
+        private void write(byte[] bytes) {
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        private void ensureCapacity(int extra) {
+            if (position + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+            }
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.drop.solution.parking.lot.codec;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+/**
+ * HTTP message converter for the {@link BinaryMessageCodec} media type.
+ *
+ * It is selected through the {@code Accept} and {@code Content-Type} headers
+ * and only handles the message types the codec knows about.
+ */
+public class BinaryMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    /**
+     * The media type handled by this converter.
+     */
+    public static final MediaType BINARY = MediaType.parseMediaType(BinaryMessageCodec.MEDIA_TYPE);
+
+    /**
+     * Constructs a BinaryMessageConverter for the binary media type.
+     */
+    public BinaryMessageConverter() {
+        super(BINARY);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return BinaryMessageCodec.supports(clazz);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        try {
+            return BinaryMessageCodec.decode(clazz, inputMessage.getBody().readAllBytes());
+        } catch (IllegalArgumentException ex) {
+            throw new HttpMessageNotReadableException(ex.getMessage(), ex, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object message, HttpOutputMessage outputMessage) throws IOException {
+        byte[] body = BinaryMessageCodec.encode(message);
+        outputMessage.getHeaders().setContentLength(body.length);
+        outputMessage.getBody().write(body);
+    }
+}
@@ -0,0 +1,61 @@
+package com.drop.solution.parking.lot.config;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import com.drop.solution.parking.lot.model.Availability;
+import com.drop.solution.parking.lot.model.BatchItemResult;
+import com.drop.solution.parking.lot.model.BatchRequest;
+import com.drop.solution.parking.lot.model.Car;
+import com.drop.solution.parking.lot.model.CarDetailsRequest;
+import com.drop.solution.parking.lot.model.DwellTimeSummary;
+import com.drop.solution.parking.lot.model.ErrorDetails;
+import com.drop.solution.parking.lot.model.LotCapacity;
+import com.drop.solution.parking.lot.model.LotSnapshot;
+import com.drop.solution.parking.lot.model.OccupancySample;
+import com.drop.solution.parking.lot.model.ParkingAlert;
+import com.drop.solution.parking.lot.model.ParkingEvent;
+import com.drop.solution.parking.lot.model.ReplicationStatus;
+import com.drop.solution.parking.lot.model.SlotInfo;
+import com.drop.solution.parking.lot.model.SuccessResponse;
+
+import io.github.resilience4j.common.ratelimiter.configuration.CommonRateLimiterConfigurationProperties;
+import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
+import io.github.resilience4j.ratelimiter.autoconfigure.RateLimiterProperties;
+import io.github.resilience4j.ratelimiter.configure.RateLimiterAspect;
+
+/**
+ * Registers the reflection hints needed to run the application with Spring AOT
+ * or as a GraalVM native image.
+ *
+ * Jackson and the validator reach the Lombok generated accessors and
+ * constructors of the models through reflection. Resilience4j binds its
+ * properties and resolves {@link RateLimiter} annotations reflectively from
+ * its aspect. Spring Security contributes its own hints.
+ */
+public class ParkingRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final MemberCategory[] MODEL_MEMBERS = {
+            MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+            MemberCategory.INVOKE_PUBLIC_METHODS,
+            MemberCategory.DECLARED_FIELDS
+    };
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (Class<?> model : new Class<?>[] { Car.class, SuccessResponse.class, ErrorDetails.class,
+                CarDetailsRequest.class, SlotInfo.class, ParkingEvent.class, LotSnapshot.class,
+                ReplicationStatus.class, LotCapacity.class, OccupancySample.class, DwellTimeSummary.class,
+                BatchRequest.class, BatchItemResult.class, Availability.class,
+                ParkingAlert.class }) {
+            hints.reflection().registerType(model, MODEL_MEMBERS);
+        }
+
+        hints.reflection().registerType(RateLimiter.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+        hints.reflection().registerType(RateLimiterAspect.class,
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS);
+        hints.reflection().registerType(RateLimiterProperties.class, MODEL_MEMBERS);
+        hints.reflection().registerType(CommonRateLimiterConfigurationProperties.InstanceProperties.class, MODEL_MEMBERS);
+    }
+}
@@ -37,7 +37,7 @@ public class SecurityConfig {
 
         http.csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(auth -> auth
-                .requestMatchers("/api/parking/**").authenticated()
+                .requestMatchers("/api/parking/**", "/api/replication/**", "/api/admin/**", "/api/analytics/**").authenticated()
                 .anyRequest().permitAll()
             )
             .httpBasic(Customizer.withDefaults());
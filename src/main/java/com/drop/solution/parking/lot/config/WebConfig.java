@@ -0,0 +1,33 @@
+package com.drop.solution.parking.lot.config;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.drop.solution.parking.lot.codec.BinaryMessageConverter;
+
+/**
+ * Configuration class for Spring MVC settings.
+ * This class registers the compact binary message format next to JSON.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private static final Logger logger = LoggerFactory.getLogger(WebConfig.class);
+
+    /**
+     * Appends the binary message converter after the default converters, so
+     * JSON stays the default and binary is used only when it is asked for.
+     *
+     * @param converters the configured message converters
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new BinaryMessageConverter());
+        logger.info("Registered binary message converter for {}.", BinaryMessageConverter.BINARY);
+    }
+}
@@ -0,0 +1,72 @@
+package com.drop.solution.parking.lot.controller;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import com.drop.solution.parking.lot.analytics.AnomalyDetector;
+import com.drop.solution.parking.lot.analytics.OccupancyAnalytics;
+import com.drop.solution.parking.lot.model.DwellTimeSummary;
+import com.drop.solution.parking.lot.model.OccupancySample;
+import com.drop.solution.parking.lot.model.ParkingAlert;
+import lombok.RequiredArgsConstructor;
+
+
+/**
+ * Controller for querying occupancy time series, dwell-time percentiles and
+ * overstay and frequent-parking alerts.
+ */
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+public class AnalyticsController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsController.class);
+    private final OccupancyAnalytics occupancyAnalytics;
+    private final AnomalyDetector anomalyDetector;
+
+    /**
+     * Retrieves the occupancy of the most recent intervals.
+     *
+     * @param resolution the interval length: MINUTE, HOUR or DAY.
+     * @param limit the number of intervals to return.
+     * @return a ResponseEntity containing one sample per interval, oldest first.
+     */
+    @GetMapping("/occupancy")
+    public ResponseEntity<List<OccupancySample>> getOccupancy(
+            @RequestParam(defaultValue = "MINUTE") OccupancyAnalytics.Resolution resolution,
+            @RequestParam(defaultValue = "60") int limit) {
+        logger.debug("Retrieving {} occupancy samples at {} resolution", limit, resolution);
+        return ResponseEntity.ok(occupancyAnalytics.getOccupancy(resolution, limit));
+    }
+
+    /**
+     * Retrieves dwell-time statistics.
+     *
+     * @param percentiles the percentiles to report.
+     * @return a ResponseEntity containing the dwell-time summary.
+     */
+    @GetMapping("/dwell")
+    public ResponseEntity<DwellTimeSummary> getDwellTimes(
+            @RequestParam(defaultValue = "50,90,99") List<Double> percentiles) {
+        logger.debug("Retrieving dwell-time percentiles {}", percentiles);
+        return ResponseEntity.ok(occupancyAnalytics.getDwellTimes(percentiles));
+    }
+
+    /**
+     * Retrieves the most recent overstay and frequent-parking alerts.
+     *
+     * @param limit the maximum number of alerts to return.
+     * @return a ResponseEntity containing the alerts, oldest first.
+     */
+    @GetMapping("/alerts")
+    public ResponseEntity<List<ParkingAlert>> getAlerts(@RequestParam(defaultValue = "100") int limit) {
+        logger.debug("Retrieving up to {} alerts", limit);
+        return ResponseEntity.ok(anomalyDetector.getAlerts(limit));
+    }
+}
@@ -0,0 +1,77 @@
+package com.drop.solution.parking.lot.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import com.drop.solution.parking.lot.model.LotCapacity;
+import com.drop.solution.parking.lot.service.LotAdminService;
+import lombok.RequiredArgsConstructor;
+
+
+/**
+ * Controller for changing the dimensions of the parking lot while it is in use.
+ * 
+ * It opens new slots or levels, closes slot ranges for maintenance and reports
+ * how far a closed range has drained, without restarting the application.
+ */
+@RestController
+@RequestMapping("/api/admin/lot")
+@RequiredArgsConstructor
+public class LotAdminController {
+
+    private static final Logger logger = LoggerFactory.getLogger(LotAdminController.class);
+    private final LotAdminService lotAdminService;
+
+    /**
+     * Retrieves the current dimensions of the lot.
+     *
+     * @return a ResponseEntity containing the lot capacity.
+     */
+    @GetMapping("/capacity")
+    public ResponseEntity<LotCapacity> getCapacity() {
+        return ResponseEntity.ok(lotAdminService.getCapacity());
+    }
+
+    /**
+     * Grows the lot to the given size, or shrinks it by draining the slots above it.
+     *
+     * @param size the requested number of slots.
+     * @return a ResponseEntity containing the lot capacity after the change.
+     */
+    @PostMapping("/resize")
+    public ResponseEntity<LotCapacity> resize(@RequestParam int size) {
+        logger.info("Resizing lot to {} slots", size);
+        return ResponseEntity.ok(lotAdminService.resize(size));
+    }
+
+    /**
+     * Opens a range of slots for new cars.
+     *
+     * @param from the first slot of the range.
+     * @param to the last slot of the range, inclusive.
+     * @return a ResponseEntity containing the lot capacity after the change.
+     */
+    @PostMapping("/open")
+    public ResponseEntity<LotCapacity> openSlots(@RequestParam int from, @RequestParam int to) {
+        logger.info("Opening slots {} to {}", from, to);
+        return ResponseEntity.ok(lotAdminService.openSlots(from, to));
+    }
+
+    /**
+     * Closes a range of slots for new cars; parked cars drain out as they leave.
+     *
+     * @param from the first slot of the range.
+     * @param to the last slot of the range, inclusive.
+     * @return a ResponseEntity containing the lot capacity after the change.
+     */
+    @PostMapping("/close")
+    public ResponseEntity<LotCapacity> closeSlots(@RequestParam int from, @RequestParam int to) {
+        logger.info("Closing slots {} to {}", from, to);
+        return ResponseEntity.ok(lotAdminService.closeSlots(from, to));
+    }
+}
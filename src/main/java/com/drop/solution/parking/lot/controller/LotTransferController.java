@@ -0,0 +1,69 @@
+package com.drop.solution.parking.lot.controller;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import com.drop.solution.parking.lot.model.SuccessResponse;
+import com.drop.solution.parking.lot.transfer.SlotTableFormat;
+import com.drop.solution.parking.lot.transfer.SlotTableTransfer;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+
+
+/**
+ * Controller for moving the whole slot table in and out of the parking lot.
+ * 
+ * Exports and imports are streamed as NDJSON or CSV, so migrating or seeding
+ * a lot takes one request instead of one rate-limited park request per car.
+ */
+@RestController
+@RequestMapping("/api/admin/lot")
+@RequiredArgsConstructor
+public class LotTransferController {
+
+    private static final Logger logger = LoggerFactory.getLogger(LotTransferController.class);
+    private final SlotTableTransfer slotTableTransfer;
+
+    /**
+     * Streams every parked car with its slot and parking time.
+     *
+     * @param format the line format: NDJSON or CSV.
+     * @return a ResponseEntity streaming the slot table.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportSlots(@RequestParam(defaultValue = "NDJSON") SlotTableFormat format) {
+        logger.info("Exporting slot table as {}", format);
+        StreamingResponseBody body = out -> slotTableTransfer.exportTo(Channels.newChannel(out), format);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"slots." + format.name().toLowerCase() + "\"")
+                .body(body);
+    }
+
+    /**
+     * Loads a streamed slot table into the lot, parking every listed car in its slot.
+     *
+     * @param format the line format: NDJSON or CSV.
+     * @param request the request whose body holds the slot table.
+     * @return a ResponseEntity containing a SuccessResponse with the number of imported cars.
+     * @throws IOException if the request body cannot be read.
+     */
+    @PostMapping("/import")
+    public ResponseEntity<SuccessResponse> importSlots(@RequestParam(defaultValue = "NDJSON") SlotTableFormat format,
+            HttpServletRequest request) throws IOException {
+        logger.info("Importing slot table as {}", format);
+        long imported = slotTableTransfer.importFrom(Channels.newChannel(request.getInputStream()), format);
+        return ResponseEntity.ok(new SuccessResponse(String.format("Imported %d parked cars.", imported)));
+    }
+}
@@ -1,18 +1,34 @@
 package com.drop.solution.parking.lot.controller;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import com.drop.solution.parking.lot.cache.IdempotencyCache;
+import com.drop.solution.parking.lot.exception.BatchTooLargeException;
+import com.drop.solution.parking.lot.model.Availability;
+import com.drop.solution.parking.lot.model.BatchItemResult;
+import com.drop.solution.parking.lot.model.BatchRequest;
 import com.drop.solution.parking.lot.model.CarDetailsRequest;
+import com.drop.solution.parking.lot.model.SlotInfo;
 import com.drop.solution.parking.lot.model.SuccessResponse;
 import com.drop.solution.parking.lot.service.ParkingService;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
@@ -25,6 +41,19 @@ import lombok.RequiredArgsConstructor;
  * It handles HTTP requests for parking cars, retrieving slot information, and unparking cars.
  * It uses the ParkingService to interact with the parking logic.
  * 
+ * Park and unpark accept an optional {@code Idempotency-Key} header; retries
+ * carrying the same key replay the original response from the IdempotencyCache.
+ * 
+ * With {@code wait=true}, a park request that finds the lot full is held open
+ * until a slot is handed to the car or the waitlist timeout expires. Its
+ * {@code apiRateLimiter} permit is taken here, before the service is called.
+ * 
+ * A park request may name a preferred {@code level} of the lot layout, and
+ * the availability endpoints report free and occupied slots per level and zone.
+ * 
+ * Batch requests take one {@code apiRateLimiter} permit per car, so batching
+ * saves round trips but does not raise the rate limit. A batch with more cars
+ * than the limit admits per period is rejected with 413 Payload Too Large.
  */
 @RestController
 @RequestMapping("/api/parking")
@@ -32,22 +61,94 @@ import lombok.RequiredArgsConstructor;
 public class ParkingController {
 
     private static final Logger logger = LoggerFactory.getLogger(ParkingController.class);
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String RATE_LIMITER = "apiRateLimiter";
     private final ParkingService parkingService;
+    private final IdempotencyCache idempotencyCache;
+    private final RateLimiterRegistry rateLimiterRegistry;
 
     /**
      * Parks a car in the parking facility.
      *
      * @param newCar the details of the car to be parked, including the license plate.
+     * @param idempotencyKey optional key identifying retries of the same request.
+     * @param level optional level of the lot layout to park on when it has a free slot.
      * @return a ResponseEntity containing a SuccessResponse with parking result.
      */
     @PostMapping("/park")
-    public ResponseEntity<SuccessResponse> parkCar(@Valid @RequestBody CarDetailsRequest newCar)  {
+    public ResponseEntity<SuccessResponse> parkCar(@Valid @RequestBody CarDetailsRequest newCar,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestParam(required = false) String level)  {
         logger.info("Attempting to park car with license plate: %s", newCar.getLicensePlate());
-        SuccessResponse response = parkingService.parkCar(newCar.getLicensePlate());
+        String licensePlate = newCar.getLicensePlate();
+        SuccessResponse response = idempotencyKey == null
+                ? park(licensePlate, level)
+                : idempotencyCache.execute("park", idempotencyKey, licensePlate,
+                        () -> park(licensePlate, level));
         logger.info("Parking response: {}", response);
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Parks a car, waiting in line for a free slot when the lot is full.
+     * The request completes once the car is parked, or with 409 Conflict when
+     * no slot became free within the waitlist timeout. When the client goes
+     * away first, the car is taken off the waitlist.
+     *
+     * The rate limiter permit is taken before the service is called, since the
+     * service parks a car it does not have to wait for by calling itself,
+     * which a proxy-based limiter would not see.
+     *
+     * @param newCar the details of the car to be parked, including the license plate.
+     * @return a DeferredResult completed with a SuccessResponse with parking result.
+     */
+    @PostMapping(value = "/park", params = "wait=true")
+    public DeferredResult<ResponseEntity<SuccessResponse>> parkCarOrWait(@Valid @RequestBody CarDetailsRequest newCar) {
+        logger.info("Attempting to park car with license plate {} or wait for a slot", newCar.getLicensePlate());
+        acquirePermits(1);
+        DeferredResult<ResponseEntity<SuccessResponse>> result = new DeferredResult<>(0L); // The waitlist enforces the timeout
+        CompletableFuture<SuccessResponse> parking = parkingService.parkCarOrWait(newCar.getLicensePlate());
+        result.onError(ex -> parking.cancel(false));
+        result.onCompletion(() -> parking.cancel(false)); // No-op once the car is parked
+        parking.whenComplete((response, ex) -> {
+            if (ex == null) {
+                logger.info("Parking response: {}", response);
+                result.setResult(ResponseEntity.ok(response));
+            } else {
+                result.setErrorResult(ex instanceof CompletionException ? ex.getCause() : ex);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Parks several cars with one request; every car in the batch counts as one
+     * call against the rate limit.
+     *
+     * @param batch the license plates of the cars to be parked.
+     * @return a ResponseEntity containing one result per car, in request order.
+     */
+    @PostMapping("/park/batch")
+    public ResponseEntity<List<BatchItemResult>> parkCars(@Valid @RequestBody BatchRequest batch) {
+        logger.info("Attempting to park a batch of {} cars", batch.getLicensePlates().size());
+        acquirePermits(batch.getLicensePlates().size());
+        return ResponseEntity.ok(parkingService.parkCars(batch.getLicensePlates()));
+    }
+
+    /**
+     * Unparks several cars with one request; every car in the batch counts as one
+     * call against the rate limit.
+     *
+     * @param batch the license plates of the cars to be unparked.
+     * @return a ResponseEntity containing one result per car, in request order.
+     */
+    @PostMapping("/unpark/batch")
+    public ResponseEntity<List<BatchItemResult>> unparkCars(@Valid @RequestBody BatchRequest batch) {
+        logger.info("Attempting to unpark a batch of {} cars", batch.getLicensePlates().size());
+        acquirePermits(batch.getLicensePlates().size());
+        return ResponseEntity.ok(parkingService.unparkCars(batch.getLicensePlates()));
+    }
+
     /**
      * Retrieves information about a specific parking slot.
      *
@@ -62,17 +163,92 @@ public class ParkingController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Retrieves all occupied parking slots.
+     *
+     * @return a ResponseEntity containing the occupied slots in slot order.
+     */
+    @GetMapping("/slots")
+    public ResponseEntity<List<SlotInfo>> getOccupiedSlots() {
+        logger.info("Retrieving all occupied slots");
+        List<SlotInfo> occupied = parkingService.getOccupiedSlots();
+        logger.info("Occupied slots: {}", occupied.size());
+        return ResponseEntity.ok(occupied);
+    }
+
+    /**
+     * Retrieves the free and occupied slots of the lot, per level and zone.
+     *
+     * @return a ResponseEntity containing the availability of the lot.
+     */
+    @GetMapping("/availability")
+    public ResponseEntity<Availability> getAvailability() {
+        return ResponseEntity.ok(parkingService.getAvailability());
+    }
+
+    /**
+     * Retrieves the free and occupied slots of one level, per zone.
+     *
+     * @param level the name of the level.
+     * @return a ResponseEntity containing the availability of the level.
+     */
+    @GetMapping("/availability/{level}")
+    public ResponseEntity<Availability> getAvailability(@PathVariable String level) {
+        return ResponseEntity.ok(parkingService.getAvailability(level));
+    }
+
+    /**
+     * Retrieves the free and occupied slots of one zone.
+     *
+     * @param level the name of the level.
+     * @param zone the name of the zone on that level.
+     * @return a ResponseEntity containing the availability of the zone.
+     */
+    @GetMapping("/availability/{level}/{zone}")
+    public ResponseEntity<Availability> getAvailability(@PathVariable String level, @PathVariable String zone) {
+        return ResponseEntity.ok(parkingService.getAvailability(level, zone));
+    }
+
     /**
      * Unparks a car from the parking facility.
      *
      * @param licensePlate the license plate of the car to be unparked.
+     * @param idempotencyKey optional key identifying retries of the same request.
      * @return a ResponseEntity containing a SuccessResponse with unparking result.
      */
     @DeleteMapping("/unpark")
-    public ResponseEntity<SuccessResponse> unparkCar(@RequestParam String licensePlate) {
+    public ResponseEntity<SuccessResponse> unparkCar(@RequestParam String licensePlate,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
         logger.info("Attempting to unpark car with license plate: %s", licensePlate);
-        SuccessResponse response = parkingService.unparkCar(licensePlate);
+        SuccessResponse response = idempotencyKey == null
+                ? parkingService.unparkCar(licensePlate)
+                : idempotencyCache.execute("unpark", idempotencyKey, licensePlate,
+                        () -> parkingService.unparkCar(licensePlate));
         logger.info("Unparking response: {}", response);
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Takes one rate limiter permit per car, waiting up to the limiter's
+     * timeout for them.
+     *
+     * @param cars the number of cars in the request.
+     * @throws BatchTooLargeException if the batch exceeds the limit for one period.
+     * @throws RequestNotPermitted if the permits are not available in time.
+     */
+    private void acquirePermits(int cars) {
+        RateLimiter rateLimiter = rateLimiterRegistry.rateLimiter(RATE_LIMITER);
+        int limitForPeriod = rateLimiter.getRateLimiterConfig().getLimitForPeriod();
+        if (cars > limitForPeriod) {
+            throw new BatchTooLargeException(String.format(
+                    "A batch of %d cars exceeds the rate limit of %d cars per period.", cars, limitForPeriod));
+        }
+        if (!rateLimiter.acquirePermission(cars)) {
+            throw RequestNotPermitted.createRequestNotPermitted(rateLimiter);
+        }
+    }
+
+    private SuccessResponse park(String licensePlate, String level) {
+        return level == null ? parkingService.parkCar(licensePlate) : parkingService.parkCar(licensePlate, level);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,51 @@
+package com.drop.solution.parking.lot.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import com.drop.solution.parking.lot.model.ReplicationStatus;
+import com.drop.solution.parking.lot.replication.ReplicationManager;
+import lombok.RequiredArgsConstructor;
+
+
+/**
+ * Controller for inspecting and changing the replication role of this instance.
+ * 
+ * It reports the replication lag of a replica and allows an operator to
+ * promote a replica to primary when the primary is lost.
+ */
+@RestController
+@RequestMapping("/api/replication")
+@RequiredArgsConstructor
+public class ReplicationController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicationController.class);
+    private final ReplicationManager replicationManager;
+
+    /**
+     * Retrieves the replication status of this instance.
+     *
+     * @return a ResponseEntity containing the role, applied sequence and lag.
+     */
+    @GetMapping("/status")
+    public ResponseEntity<ReplicationStatus> getStatus() {
+        ReplicationStatus status = replicationManager.getStatus();
+        logger.debug("Replication status: role={}, lagEvents={}", status.getRole(), status.getLagEvents());
+        return ResponseEntity.ok(status);
+    }
+
+    /**
+     * Promotes this replica to primary.
+     *
+     * @return a ResponseEntity containing the replication status after the promotion.
+     */
+    @PostMapping("/promote")
+    public ResponseEntity<ReplicationStatus> promote() {
+        logger.info("Promotion requested.");
+        return ResponseEntity.ok(replicationManager.promote());
+    }
+}
@@ -0,0 +1,28 @@
+package com.drop.solution.parking.lot.exception;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a batch holds more cars than the rate limit permits
+ * in one period, so it could never be admitted however often it is retried.
+ * This exception results in a 413 PAYLOAD TOO LARGE HTTP response status.
+ */
+@ResponseStatus(code = HttpStatus.PAYLOAD_TOO_LARGE)
+public class BatchTooLargeException extends RuntimeException {
+
+    /**
+     * Constructs a new BatchTooLargeException with the specified detail message.
+     *
+     * @param message the detail message, saved for later retrieval by the
+     *                {@link Throwable#getMessage()} method
+     */
+    public BatchTooLargeException(String message) {
+        super(message);
+        // Log the exception message at the warning level
+        Logger logger = LoggerFactory.getLogger(BatchTooLargeException.class);
+        logger.warn("BatchTooLargeException: {}", message);
+    }
+}
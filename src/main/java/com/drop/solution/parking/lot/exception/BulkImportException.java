@@ -0,0 +1,28 @@
+package com.drop.solution.parking.lot.exception;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a bulk import of the slot table is malformed or
+ * conflicts with the state of the parking system.
+ * This exception results in a 400 BAD REQUEST HTTP response status.
+ */
+@ResponseStatus(code = HttpStatus.BAD_REQUEST)
+public class BulkImportException extends RuntimeException {
+
+    /**
+     * Constructs a new BulkImportException with the specified detail message.
+     *
+     * @param message the detail message, saved for later retrieval by the
+     *                {@link Throwable#getMessage()} method
+     */
+    public BulkImportException(String message) {
+        super(message);
+        // Log the exception message at the warning level
+        Logger logger = LoggerFactory.getLogger(BulkImportException.class);
+        logger.warn("BulkImportException: {}", message);
+    }
+}
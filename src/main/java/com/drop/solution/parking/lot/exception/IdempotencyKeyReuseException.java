@@ -0,0 +1,28 @@
+package com.drop.solution.parking.lot.exception;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when an idempotency key is reused for a different request
+ * in the parking system.
+ * This exception results in a 422 UNPROCESSABLE ENTITY HTTP response status.
+ */
+@ResponseStatus(code = HttpStatus.UNPROCESSABLE_ENTITY)
+public class IdempotencyKeyReuseException extends RuntimeException {
+
+    /**
+     * Constructs a new IdempotencyKeyReuseException with the specified detail message.
+     *
+     * @param message the detail message, saved for later retrieval by the
+     *                {@link Throwable#getMessage()} method
+     */
+    public IdempotencyKeyReuseException(String message) {
+        super(message);
+        // Log the exception message at the warning level
+        Logger logger = LoggerFactory.getLogger(IdempotencyKeyReuseException.class);
+        logger.warn("IdempotencyKeyReuseException: {}", message);
+    }
+}
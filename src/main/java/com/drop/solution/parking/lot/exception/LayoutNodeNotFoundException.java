@@ -0,0 +1,27 @@
+package com.drop.solution.parking.lot.exception;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a requested level or zone is not part of the lot layout.
+ * This exception results in a 404 Not Found HTTP response status.
+ */
+@ResponseStatus(code = HttpStatus.NOT_FOUND)
+public class LayoutNodeNotFoundException extends RuntimeException {
+
+    /**
+     * Constructs a new LayoutNodeNotFoundException with the specified detail message.
+     *
+     * @param message the detail message, saved for later retrieval by the
+     *                {@link Throwable#getMessage()} method
+     */
+    public LayoutNodeNotFoundException(String message) {
+        super(message);
+        // Log the exception message at the warning level
+        Logger logger = LoggerFactory.getLogger(LayoutNodeNotFoundException.class);
+        logger.warn("LayoutNodeNotFoundException: {}", message);
+    }
+}
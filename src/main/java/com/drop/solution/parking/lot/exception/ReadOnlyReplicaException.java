@@ -0,0 +1,28 @@
+package com.drop.solution.parking.lot.exception;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a mutation is sent to a read-only replica
+ * in the parking system.
+ * This exception results in a 503 SERVICE UNAVAILABLE HTTP response status.
+ */
+@ResponseStatus(code = HttpStatus.SERVICE_UNAVAILABLE)
+public class ReadOnlyReplicaException extends RuntimeException {
+
+    /**
+     * Constructs a new ReadOnlyReplicaException with the specified detail message.
+     *
+     * @param message the detail message, saved for later retrieval by the
+     *                {@link Throwable#getMessage()} method
+     */
+    public ReadOnlyReplicaException(String message) {
+        super(message);
+        // Log the exception message at the warning level
+        Logger logger = LoggerFactory.getLogger(ReadOnlyReplicaException.class);
+        logger.warn("ReadOnlyReplicaException: {}", message);
+    }
+}
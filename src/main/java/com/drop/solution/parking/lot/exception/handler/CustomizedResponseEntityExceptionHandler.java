@@ -15,9 +15,14 @@ import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
 import com.drop.solution.parking.lot.exception.AlreadyParkedException;
+import com.drop.solution.parking.lot.exception.BatchTooLargeException;
+import com.drop.solution.parking.lot.exception.BulkImportException;
 import com.drop.solution.parking.lot.exception.CarNotFoundException;
+import com.drop.solution.parking.lot.exception.IdempotencyKeyReuseException;
 import com.drop.solution.parking.lot.exception.InvalidSlotNumberException;
+import com.drop.solution.parking.lot.exception.LayoutNodeNotFoundException;
 import com.drop.solution.parking.lot.exception.ParkingLotFullException;
+import com.drop.solution.parking.lot.exception.ReadOnlyReplicaException;
 import com.drop.solution.parking.lot.model.ErrorDetails;
 
 import io.github.resilience4j.ratelimiter.RequestNotPermitted;
@@ -103,6 +108,22 @@ public class CustomizedResponseEntityExceptionHandler extends ResponseEntityExce
         return new ResponseEntity<>(errorDetails, HttpStatus.NOT_FOUND);
     }
 
+    /**
+     * Handles exceptions when a requested level or zone is not in the lot layout.
+     *
+     * @param ex the LayoutNodeNotFoundException that was thrown.
+     * @param request the current web request.
+     * @return a ResponseEntity containing an ErrorDetails object 
+     *         with an error message and a 404 Not Found status.
+     */
+    @ExceptionHandler(LayoutNodeNotFoundException.class)
+    public final ResponseEntity<ErrorDetails> handleLayoutNodeNotFoundException(Exception ex, WebRequest request) {
+        logger.warn("Layout node not found: {}", ex.getMessage());
+        ErrorDetails errorDetails = new ErrorDetails(LocalDateTime.now(), ex.getMessage(),
+                HttpStatus.NOT_FOUND.value(), request.getDescription(false));
+        return new ResponseEntity<>(errorDetails, HttpStatus.NOT_FOUND);
+    }
+
     /**
      * Handles exceptions when a car is already parked.
      *
@@ -151,6 +172,70 @@ public class CustomizedResponseEntityExceptionHandler extends ResponseEntityExce
         return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Handles exceptions when an idempotency key is reused for a different request.
+     *
+     * @param ex the IdempotencyKeyReuseException that was thrown.
+     * @param request the current web request.
+     * @return a ResponseEntity containing an ErrorDetails object 
+     *         with an appropriate error message and a 422 Unprocessable Entity status.
+     */
+    @ExceptionHandler(IdempotencyKeyReuseException.class)
+    public final ResponseEntity<ErrorDetails> handleIdempotencyKeyReuseException(Exception ex, WebRequest request) {
+        logger.warn("Idempotency key reused: {}", ex.getMessage());
+        ErrorDetails errorDetails = new ErrorDetails(LocalDateTime.now(), ex.getMessage(),
+                HttpStatus.UNPROCESSABLE_ENTITY.value(), request.getDescription(false));
+        return new ResponseEntity<>(errorDetails, HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    /**
+     * Handles exceptions when a mutation reaches a read-only replica.
+     *
+     * @param ex the ReadOnlyReplicaException that was thrown.
+     * @param request the current web request.
+     * @return a ResponseEntity containing an ErrorDetails object 
+     *         with an appropriate error message and a 503 Service Unavailable status.
+     */
+    @ExceptionHandler(ReadOnlyReplicaException.class)
+    public final ResponseEntity<ErrorDetails> handleReadOnlyReplicaException(Exception ex, WebRequest request) {
+        logger.warn("Read-only replica: {}", ex.getMessage());
+        ErrorDetails errorDetails = new ErrorDetails(LocalDateTime.now(), ex.getMessage(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(), request.getDescription(false));
+        return new ResponseEntity<>(errorDetails, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    /**
+     * Handles exceptions when a bulk import of the slot table is rejected.
+     *
+     * @param ex the BulkImportException that was thrown.
+     * @param request the current web request.
+     * @return a ResponseEntity containing an ErrorDetails object 
+     *         with an appropriate error message and a 400 Bad Request status.
+     */
+    @ExceptionHandler(BulkImportException.class)
+    public final ResponseEntity<ErrorDetails> handleBulkImportException(Exception ex, WebRequest request) {
+        logger.warn("Bulk import rejected: {}", ex.getMessage());
+        ErrorDetails errorDetails = new ErrorDetails(LocalDateTime.now(), ex.getMessage(),
+                HttpStatus.BAD_REQUEST.value(), request.getDescription(false));
+        return new ResponseEntity<>(errorDetails, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles exceptions when a batch is larger than the rate limit allows per period.
+     *
+     * @param ex the BatchTooLargeException that was thrown.
+     * @param request the current web request.
+     * @return a ResponseEntity containing an ErrorDetails object 
+     *         with an appropriate error message and a 413 Payload Too Large status.
+     */
+    @ExceptionHandler(BatchTooLargeException.class)
+    public final ResponseEntity<ErrorDetails> handleBatchTooLargeException(Exception ex, WebRequest request) {
+        logger.warn("Batch rejected: {}", ex.getMessage());
+        ErrorDetails errorDetails = new ErrorDetails(LocalDateTime.now(), ex.getMessage(),
+                HttpStatus.PAYLOAD_TOO_LARGE.value(), request.getDescription(false));
+        return new ResponseEntity<>(errorDetails, HttpStatus.PAYLOAD_TOO_LARGE);
+    }
+
     /**
      * Handles validation errors from method arguments.
      *
@@ -0,0 +1,34 @@
+package com.drop.solution.parking.lot.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for a car that was parked, either directly or from the waitlist.
+ * The duration covers the work done while holding the lot lock.
+ */
+@Name("com.drop.solution.parking.Park")
+@Label("Park")
+@Category({ "Parking Lot", "Operations" })
+@Description("A car was assigned a slot")
+@StackTrace(false)
+public class ParkEvent extends Event {
+
+    @Label("Plate Hash")
+    @Description("Hash code of the license plate, so recordings carry no plate numbers")
+    public int plateHash;
+
+    @Label("Slot")
+    public int slot;
+
+    @Label("Scan Length")
+    @Description("Number of 64-slot words of the free-slot bit set examined to find the slot")
+    public int scanLength;
+
+    @Label("From Waitlist")
+    public boolean fromWaitlist;
+}
@@ -0,0 +1,37 @@
+package com.drop.solution.parking.lot.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for a parking operation that was refused, such as a
+ * park request for a full lot or an unpark request for an unknown car.
+ * Rejections are instant events; the refused operation records no duration.
+ */
+@Name("com.drop.solution.parking.Rejected")
+@Label("Parking Rejected")
+@Category({ "Parking Lot", "Operations" })
+@Description("A parking operation was refused")
+public class ParkingRejectedEvent extends Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Reason")
+    @Description("Simple name of the exception returned to the caller")
+    public String reason;
+
+    @Label("Plate Hash")
+    @Description("Hash code of the license plate, so recordings carry no plate numbers")
+    public int plateHash;
+
+    @Label("Slot")
+    public int slot;
+
+    @Label("Scan Length")
+    @Description("Number of 64-slot words of the free-slot bit set examined before the refusal")
+    public int scanLength;
+}
@@ -0,0 +1,26 @@
+package com.drop.solution.parking.lot.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for the time a call spent waiting for a rate-limiter permit.
+ */
+@Name("com.drop.solution.parking.RateLimiterWait")
+@Label("Rate Limiter Wait")
+@Category({ "Parking Lot", "Rate Limiting" })
+@Description("Time a call waited for a Resilience4j rate-limiter permit")
+@StackTrace(false)
+public class RateLimiterWaitEvent extends Event {
+
+    @Label("Rate Limiter")
+    public String rateLimiter;
+
+    @Label("Permitted")
+    @Description("False when the call was rejected with RequestNotPermitted")
+    public boolean permitted;
+}
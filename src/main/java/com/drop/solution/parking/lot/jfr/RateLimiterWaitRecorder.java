@@ -0,0 +1,118 @@
+package com.drop.solution.parking.lot.jfr;
+
+import java.lang.reflect.Method;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
+import jdk.jfr.EventType;
+
+/**
+ * Records {@link RateLimiterWaitEvent}s around calls to {@code @RateLimiter} methods.
+ *
+ * This advice runs outside the Resilience4j rate-limiter aspect and starts the
+ * event; the nested {@link PermitGranted} advice runs inside it and ends the
+ * event as soon as the permit was granted, while a refused permit ends it here.
+ * Nothing is subscribed to the rate limiters, so while no recording enables
+ * the event the advice only checks a flag.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RateLimiterWaitRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimiterWaitRecorder.class);
+    private static final EventType WAIT_EVENT = EventType.getEventType(RateLimiterWaitEvent.class);
+    private static final ThreadLocal<RateLimiterWaitEvent> pending = new ThreadLocal<>();
+
+    /**
+     * Constructs a RateLimiterWaitRecorder.
+     */
+    public RateLimiterWaitRecorder() {
+        logger.info("RateLimiterWaitRecorder initialized.");
+    }
+
+    /**
+     * Starts a wait event for the duration of the permit acquisition of the call.
+     *
+     * @param joinPoint the rate-limited call
+     * @return the result of the call
+     * @throws Throwable whatever the call throws
+     */
+    @Around("@annotation(io.github.resilience4j.ratelimiter.annotation.RateLimiter)")
+    public Object recordWait(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!WAIT_EVENT.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        RateLimiterWaitEvent outer = pending.get();
+        RateLimiterWaitEvent event = new RateLimiterWaitEvent();
+        event.rateLimiter = rateLimiterName(joinPoint);
+        event.begin();
+        pending.set(event);
+        try {
+            return joinPoint.proceed();
+        } catch (RequestNotPermitted ex) {
+            if (pending.get() == event) { // Refused before the call was entered
+                complete(event, false);
+            }
+            throw ex;
+        } finally {
+            pending.set(outer);
+        }
+    }
+
+    /**
+     * Ends the pending wait event once the rate limiter has let the call through.
+     * Ordered after the Resilience4j aspect, so it only runs with a permit.
+     */
+    @Aspect
+    @Component
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public static class PermitGranted {
+
+        /**
+         * Completes the wait event of the call as permitted.
+         *
+         * @param joinPoint the rate-limited call
+         * @return the result of the call
+         * @throws Throwable whatever the call throws
+         */
+        @Around("@annotation(io.github.resilience4j.ratelimiter.annotation.RateLimiter)")
+        public Object recordPermit(ProceedingJoinPoint joinPoint) throws Throwable {
+            RateLimiterWaitEvent event = pending.get();
+            if (event != null) {
+                pending.remove(); // Calls made by the guarded method are measured by their own advice
+                complete(event, true);
+            }
+            return joinPoint.proceed();
+        }
+    }
+
+    private static String rateLimiterName(ProceedingJoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        if (joinPoint.getTarget() != null) {
+            method = AopUtils.getMostSpecificMethod(method, joinPoint.getTarget().getClass());
+        }
+        RateLimiter rateLimiter = AnnotationUtils.findAnnotation(method, RateLimiter.class);
+        return rateLimiter == null ? null : rateLimiter.name();
+    }
+
+    private static void complete(RateLimiterWaitEvent event, boolean permitted) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.permitted = permitted;
+            event.commit();
+        }
+    }
+}
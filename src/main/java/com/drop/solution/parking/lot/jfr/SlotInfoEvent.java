@@ -0,0 +1,23 @@
+package com.drop.solution.parking.lot.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for a lookup of a single slot.
+ */
+@Name("com.drop.solution.parking.SlotInfo")
+@Label("Slot Info")
+@Category({ "Parking Lot", "Operations" })
+@StackTrace(false)
+public class SlotInfoEvent extends Event {
+
+    @Label("Slot")
+    public int slot;
+
+    @Label("Occupied")
+    public boolean occupied;
+}
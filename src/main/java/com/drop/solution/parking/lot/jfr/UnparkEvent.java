@@ -0,0 +1,28 @@
+package com.drop.solution.parking.lot.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for a car that left the lot.
+ * The duration covers the work done while holding the lot lock, including
+ * handing the freed slot to a waiting car.
+ */
+@Name("com.drop.solution.parking.Unpark")
+@Label("Unpark")
+@Category({ "Parking Lot", "Operations" })
+@Description("A car left its slot")
+@StackTrace(false)
+public class UnparkEvent extends Event {
+
+    @Label("Plate Hash")
+    @Description("Hash code of the license plate, so recordings carry no plate numbers")
+    public int plateHash;
+
+    @Label("Slot")
+    public int slot;
+}
@@ -0,0 +1,200 @@
+package com.drop.solution.parking.lot.layout;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import com.drop.solution.parking.lot.model.Availability;
+
+/**
+ * Free, occupied and closed slot counters for every level and zone of a {@link LotLayout}.
+ *
+ * The owner updates the counters as it parks and unparks cars, so reading the
+ * availability of a node costs the same whatever the size of the lot. Opening
+ * and closing ranges recount only the zones the range overlaps. The reported
+ * capacity of a node is its open slots: those within the lot size that are not closed.
+ *
+ * This class is not thread-safe; it is guarded by the lock of its owner.
+ */
+public final class LayoutCounters {
+
+    private final LotLayout layout;
+    private final int[] zoneFree;
+    private final int[] zoneOccupied;
+    private final int[] zoneClosed;
+    private final int[] zoneCapacity; // Slots of the zone within the lot size
+    private final int[] levelFree;
+    private final int[] levelOccupied;
+    private final int[] levelClosed;
+    private final int[] levelCapacity; // Slots of the level within the lot size
+
+    /**
+     * Constructs zeroed counters for the given layout and an empty lot.
+     *
+     * @param layout the levels and zones to count
+     */
+    public LayoutCounters(LotLayout layout) {
+        this.layout = layout;
+        int zones = layout.getZones().size();
+        int levels = layout.getLevelNames().size();
+        zoneFree = new int[zones];
+        zoneOccupied = new int[zones];
+        zoneClosed = new int[zones];
+        zoneCapacity = new int[zones];
+        levelFree = new int[levels];
+        levelOccupied = new int[levels];
+        levelClosed = new int[levels];
+        levelCapacity = new int[levels];
+    }
+
+    public LotLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * Counts a car parked in a slot.
+     *
+     * @param slot the slot the car was parked in
+     * @param wasFree whether the slot was free before
+     */
+    public void occupied(int slot, boolean wasFree) {
+        int zone = layout.zoneOf(slot);
+        if (zone < 0) {
+            return;
+        }
+        int level = layout.getZones().get(zone).getLevel();
+        zoneOccupied[zone]++;
+        levelOccupied[level]++;
+        if (wasFree) {
+            zoneFree[zone]--;
+            levelFree[level]--;
+        }
+    }
+
+    /**
+     * Counts a car leaving a slot.
+     *
+     * @param slot the slot the car left
+     * @param nowFree whether the slot became free, rather than staying closed
+     */
+    public void vacated(int slot, boolean nowFree) {
+        int zone = layout.zoneOf(slot);
+        if (zone < 0) {
+            return;
+        }
+        int level = layout.getZones().get(zone).getLevel();
+        zoneOccupied[zone]--;
+        levelOccupied[level]--;
+        if (nowFree) {
+            zoneFree[zone]++;
+            levelFree[level]++;
+        }
+    }
+
+    /**
+     * Limits the capacity of every zone to the slots within the lot size.
+     * Only called when the size changes, so it may visit every zone.
+     *
+     * @param size the number of slots of the lot
+     */
+    public void setLotSize(int size) {
+        Arrays.fill(levelCapacity, 0);
+        List<LotLayout.Zone> zones = layout.getZones();
+        for (int zone = 0; zone < zones.size(); zone++) {
+            LotLayout.Zone z = zones.get(zone);
+            zoneCapacity[zone] = Math.max(0, Math.min(z.getLastSlot(), size) - z.getFirstSlot() + 1);
+            levelCapacity[z.getLevel()] += zoneCapacity[zone];
+        }
+    }
+
+    /**
+     * Recounts the zones overlapping a slot range from the owner's bit sets.
+     *
+     * @param fromSlot the first slot of the range
+     * @param toSlot the last slot of the range, inclusive
+     * @param freeSlots the open slots without a car
+     * @param occupiedSlots the slots with a car
+     * @param closedSlots the slots closed for new cars
+     */
+    public void recount(int fromSlot, int toSlot, BitSet freeSlots, BitSet occupiedSlots, BitSet closedSlots) {
+        List<LotLayout.Zone> zones = layout.getZones();
+        for (int zone = 0; zone < zones.size(); zone++) {
+            LotLayout.Zone z = zones.get(zone);
+            if (z.getFirstSlot() > toSlot || z.getLastSlot() < fromSlot) {
+                continue;
+            }
+            int free = freeSlots.get(z.getFirstSlot(), z.getLastSlot() + 1).cardinality();
+            int occupied = occupiedSlots.get(z.getFirstSlot(), z.getLastSlot() + 1).cardinality();
+            int closed = closedSlots.get(z.getFirstSlot(), z.getLastSlot() + 1).cardinality();
+            levelFree[z.getLevel()] += free - zoneFree[zone];
+            levelOccupied[z.getLevel()] += occupied - zoneOccupied[zone];
+            levelClosed[z.getLevel()] += closed - zoneClosed[zone];
+            zoneFree[zone] = free;
+            zoneOccupied[zone] = occupied;
+            zoneClosed[zone] = closed;
+        }
+    }
+
+    /**
+     * Returns the first free slot on a level, in zone order.
+     *
+     * @param level the level index
+     * @param freeSlots the open slots without a car
+     * @return the slot number, or -1 if the level has no free slot
+     */
+    public int firstFreeSlot(int level, BitSet freeSlots) {
+        if (levelFree[level] == 0) {
+            return -1;
+        }
+        for (int zone : layout.zoneIndexes(level)) {
+            LotLayout.Zone z = layout.getZones().get(zone);
+            int slot = freeSlots.nextSetBit(z.getFirstSlot());
+            if (slot >= 0 && slot <= z.getLastSlot()) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the availability of a level and its zones.
+     *
+     * @param level the level index
+     * @return the counters of the level
+     */
+    public Availability level(int level) {
+        int[] zones = layout.zoneIndexes(level);
+        List<Availability> children = new ArrayList<>(zones.length);
+        for (int zone : zones) {
+            children.add(zone(zone));
+        }
+        return new Availability(layout.getLevelNames().get(level), levelCapacity[level] - levelClosed[level],
+                levelFree[level], levelOccupied[level], children);
+    }
+
+    /**
+     * Returns the availability of a zone.
+     *
+     * @param zone the zone index
+     * @return the counters of the zone
+     */
+    public Availability zone(int zone) {
+        LotLayout.Zone z = layout.getZones().get(zone);
+        return new Availability(z.getName(), zoneCapacity[zone] - zoneClosed[zone], zoneFree[zone],
+                zoneOccupied[zone], List.of());
+    }
+
+    /**
+     * Returns the availability of every level.
+     *
+     * @return the counters of the levels in declaration order
+     */
+    public List<Availability> levels() {
+        List<Availability> levels = new ArrayList<>(levelFree.length);
+        for (int level = 0; level < levelFree.length; level++) {
+            levels.add(level(level));
+        }
+        return levels;
+    }
+}
@@ -0,0 +1,205 @@
+package com.drop.solution.parking.lot.layout;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable lot → level → zone layout mapping slot ranges to zones.
+ *
+ * The layout is written as {@code level:zone=from-to,zone=from-to;level:...},
+ * for example {@code L1:A=1-50,B=51-100;L2:A=101-200}. Zones are contiguous,
+ * non-overlapping slot ranges; slots outside every zone belong to the lot only.
+ * Zones are numbered in declaration order, and the zone of a slot is found by
+ * a single array lookup.
+ */
+public final class LotLayout {
+
+    /**
+     * A layout without levels.
+     */
+    public static final LotLayout EMPTY = new LotLayout(List.of(), List.of());
+
+    private final List<String> levelNames;
+    private final Map<String, Integer> levelIndex = new LinkedHashMap<>();
+    private final List<Zone> zones;
+    private final int[][] zonesByLevel;
+    private final int[] zoneBySlot; // Zone index + 1 per slot, 0 outside every zone
+
+    /**
+     * One zone: a named slot range on a level.
+     */
+    public static final class Zone {
+        private final int level;
+        private final String name;
+        private final int firstSlot;
+        private final int lastSlot;
+
+        Zone(int level, String name, int firstSlot, int lastSlot) {
+            this.level = level;
+            this.name = name;
+            this.firstSlot = firstSlot;
+            this.lastSlot = lastSlot;
+        }
+
+        public int getLevel() {
+            return level;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getFirstSlot() {
+            return firstSlot;
+        }
+
+        public int getLastSlot() {
+            return lastSlot;
+        }
+
+        public int getCapacity() {
+            return lastSlot - firstSlot + 1;
+        }
+    }
+
+    private LotLayout(List<String> levelNames, List<Zone> zones) {
+        this.levelNames = List.copyOf(levelNames);
+        this.zones = List.copyOf(zones);
+        for (int i = 0; i < levelNames.size(); i++) {
+            levelIndex.put(levelNames.get(i), i);
+        }
+        this.zonesByLevel = new int[levelNames.size()][];
+        for (int level = 0; level < levelNames.size(); level++) {
+            final int current = level;
+            zonesByLevel[level] = IntStream.range(0, zones.size())
+                    .filter(zone -> zones.get(zone).level == current)
+                    .toArray();
+        }
+        int maxSlot = zones.stream().mapToInt(Zone::getLastSlot).max().orElse(0);
+        this.zoneBySlot = new int[maxSlot + 1];
+        for (int zone = 0; zone < zones.size(); zone++) {
+            Zone z = zones.get(zone);
+            for (int slot = z.firstSlot; slot <= z.lastSlot; slot++) {
+                if (zoneBySlot[slot] != 0) {
+                    throw new IllegalArgumentException(String.format("Slot %d is in zones %s and %s.",
+                            slot, describe(zoneBySlot[slot] - 1), describe(zone)));
+                }
+                zoneBySlot[slot] = zone + 1;
+            }
+        }
+    }
+
+    /**
+     * Parses a layout definition.
+     *
+     * @param definition the layout, such as {@code L1:A=1-50,B=51-100;L2:A=101-200}; blank for no levels
+     * @return the parsed layout
+     * @throws IllegalArgumentException if the definition is malformed or zones overlap
+     */
+    public static LotLayout parse(String definition) {
+        if (definition == null || definition.isBlank()) {
+            return EMPTY;
+        }
+        List<String> levels = new ArrayList<>();
+        List<Zone> zones = new ArrayList<>();
+        for (String levelDefinition : definition.split(";")) {
+            if (levelDefinition.isBlank()) {
+                continue;
+            }
+            int colon = levelDefinition.indexOf(':');
+            if (colon <= 0) {
+                throw new IllegalArgumentException("Level '" + levelDefinition.trim() + "' must look like name:zone=from-to.");
+            }
+            String level = levelDefinition.substring(0, colon).trim();
+            if (levels.contains(level)) {
+                throw new IllegalArgumentException("Level " + level + " is defined twice.");
+            }
+            levels.add(level);
+            List<String> zoneNames = new ArrayList<>();
+            for (String zoneDefinition : levelDefinition.substring(colon + 1).split(",")) {
+                String[] parts = zoneDefinition.split("[=-]");
+                if (parts.length != 3 || parts[0].isBlank()) {
+                    throw new IllegalArgumentException("Zone '" + zoneDefinition.trim() + "' on level " + level
+                            + " must look like zone=from-to.");
+                }
+                String zone = parts[0].trim();
+                if (zoneNames.contains(zone)) {
+                    throw new IllegalArgumentException("Zone " + zone + " is defined twice on level " + level + ".");
+                }
+                zoneNames.add(zone);
+                int from;
+                int to;
+                try {
+                    from = Integer.parseInt(parts[1].trim());
+                    to = Integer.parseInt(parts[2].trim());
+                } catch (NumberFormatException ex) {
+                    throw new IllegalArgumentException("Zone " + level + "/" + zone + " has an invalid slot range.");
+                }
+                if (from < 1 || to < from) {
+                    throw new IllegalArgumentException("Zone " + level + "/" + zone + " has an invalid slot range.");
+                }
+                zones.add(new Zone(levels.size() - 1, zone, from, to));
+            }
+        }
+        return new LotLayout(levels, zones);
+    }
+
+    public List<String> getLevelNames() {
+        return levelNames;
+    }
+
+    public List<Zone> getZones() {
+        return zones;
+    }
+
+    /**
+     * Returns the index of a level.
+     *
+     * @param level the level name
+     * @return the level index, or -1 if there is no such level
+     */
+    public int levelIndexOf(String level) {
+        Integer index = levelIndex.get(level);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Returns the zones of a level in declaration order; callers must not modify it.
+     */
+    int[] zoneIndexes(int level) {
+        return zonesByLevel[level];
+    }
+
+    /**
+     * Returns the index of a zone on a level.
+     *
+     * @param level the level index
+     * @param zone the zone name
+     * @return the zone index, or -1 if the level has no such zone
+     */
+    public int zoneIndexOf(int level, String zone) {
+        for (int index : zonesByLevel[level]) {
+            if (zones.get(index).name.equals(zone)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the zone a slot belongs to.
+     *
+     * @param slot the slot number
+     * @return the zone index, or -1 if the slot is outside every zone
+     */
+    public int zoneOf(int slot) {
+        return slot > 0 && slot < zoneBySlot.length ? zoneBySlot[slot] - 1 : -1;
+    }
+
+    private String describe(int zone) {
+        return levelNames.get(zones.get(zone).level) + "/" + zones.get(zone).name;
+    }
+}
@@ -0,0 +1,21 @@
+package com.drop.solution.parking.lot.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Free and occupied slot counts of one node of the lot layout: the lot,
+ * a level or a zone, together with the nodes directly below it.
+ */
+@Getter
+@AllArgsConstructor
+public class Availability {
+
+    private final String name;                 // The lot, level or zone name
+    private final int capacity;                // Slots assigned to the node
+    private final int freeSlots;               // Open slots without a parked car
+    private final int occupiedSlots;           // Slots with a parked car
+    private final List<Availability> children; // Levels of the lot or zones of a level; empty for a zone
+}
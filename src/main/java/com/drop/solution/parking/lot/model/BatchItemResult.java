@@ -0,0 +1,16 @@
+package com.drop.solution.parking.lot.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The outcome for one car of a batched park or unpark request.
+ */
+@Getter
+@AllArgsConstructor
+public class BatchItemResult {
+
+    private final String licensePlate; // The license plate of the car
+    private final int status;          // The HTTP status the single-car request would have returned
+    private final String message;      // The success message, or the error message on failure
+}
@@ -0,0 +1,28 @@
+package com.drop.solution.parking.lot.model;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+/**
+ * A data transfer object listing the cars of a batched park or unpark request.
+ */
+@Data
+public class BatchRequest {
+
+    /**
+     * The largest number of cars accepted in one batch.
+     */
+    public static final int MAX_SIZE = 1000;
+
+    /**
+     * The license plates of the cars, processed in order.
+     * This field is required and holds 1 to {@value #MAX_SIZE} non-blank plates.
+     */
+    @NotEmpty(message = "At least one license plate is required.")
+    @Size(max = MAX_SIZE, message = "At most " + MAX_SIZE + " license plates are allowed per batch.")
+    private List<@NotBlank(message = "License plate is required.") String> licensePlates;
+}
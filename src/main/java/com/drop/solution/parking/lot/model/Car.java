@@ -8,7 +8,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Represents a car with a license plate.
+ * Represents a car with a license plate and the time it was parked.
  * This class provides methods for comparing car objects based on their license plates.
  */
 @AllArgsConstructor
@@ -16,6 +16,7 @@ import org.slf4j.LoggerFactory;
 public class Car {
     private static final Logger logger = LoggerFactory.getLogger(Car.class);
     private String licensePlate; // The license plate of the car
+    private long parkedAt;       // Epoch milliseconds at which the car was parked
 
     /**
      * Checks if this car is equal to another object.
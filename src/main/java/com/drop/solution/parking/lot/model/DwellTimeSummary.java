@@ -0,0 +1,22 @@
+package com.drop.solution.parking.lot.model;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Summary of how long cars stayed in the parking lot.
+ *
+ * Percentile values are accurate to within one percent of the reported value.
+ */
+@Getter
+@AllArgsConstructor
+public class DwellTimeSummary {
+
+    private final long count;                        // Number of recorded departures
+    private final long minMillis;                    // Shortest recorded stay
+    private final long maxMillis;                    // Longest recorded stay
+    private final double meanMillis;                 // Average stay
+    private final Map<String, Long> percentileMillis; // Stay at each requested percentile, keyed like "p99"
+}
@@ -11,6 +11,7 @@ import java.time.LocalDateTime;
  */
 @Getter
 @AllArgsConstructor
+@NoArgsConstructor // For JSON readers such as the wire format benchmark
 public class ErrorDetails {
 
     private LocalDateTime timeStamp; // The timestamp when the error occurred
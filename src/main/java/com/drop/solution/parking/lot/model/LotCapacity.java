@@ -0,0 +1,22 @@
+package com.drop.solution.parking.lot.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Describes the current dimensions of the parking lot.
+ *
+ * Closed slots accept no new cars; those still occupied are draining and
+ * become unavailable as soon as their car leaves.
+ */
+@Getter
+@AllArgsConstructor
+public class LotCapacity {
+
+    private final int size;           // The highest slot number of the lot
+    private final int openSlots;      // Slots accepting new cars
+    private final int closedSlots;    // Slots closed for new cars
+    private final int occupiedSlots;  // Slots with a parked car
+    private final int freeSlots;      // Open slots without a parked car
+    private final int drainingSlots;  // Closed slots still holding a car
+}
@@ -0,0 +1,22 @@
+package com.drop.solution.parking.lot.model;
+
+import java.util.BitSet;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A consistent copy of the parking lot state taken at a given position
+ * of the mutation log.
+ */
+@Getter
+@AllArgsConstructor
+public class LotSnapshot {
+
+    private final long logId;                  // Identifies the mutation log the sequence belongs to
+    private final long sequence;               // Sequence of the last event included in the snapshot
+    private final int size;                    // The number of slots in the lot
+    private final Map<Integer, Car> slots;     // Parked cars by slot number
+    private final BitSet closedSlots;          // Slots closed for new parks
+}
@@ -0,0 +1,19 @@
+package com.drop.solution.parking.lot.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Occupancy of the parking lot during one interval of a time series.
+ */
+@Getter
+@AllArgsConstructor
+public class OccupancySample {
+
+    private final long start;          // Epoch milliseconds at which the interval starts
+    private final long minOccupancy;   // Lowest number of parked cars during the interval
+    private final long maxOccupancy;   // Highest number of parked cars during the interval
+    private final long lastOccupancy;  // Number of parked cars at the end of the interval
+    private final long parks;          // Number of cars parked during the interval
+    private final long unparks;        // Number of cars that left during the interval
+}
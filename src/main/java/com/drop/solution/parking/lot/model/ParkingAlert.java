@@ -0,0 +1,26 @@
+package com.drop.solution.parking.lot.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * An anomaly raised by the anomaly detector for one car.
+ */
+@Getter
+@AllArgsConstructor
+public class ParkingAlert {
+
+    /**
+     * The kinds of anomaly the detector reports.
+     */
+    public enum Type {
+        OVERSTAY,         // A car stayed longer than the overstay limit
+        FREQUENT_PARKING  // A plate parked more often than allowed within the window
+    }
+
+    private final Type type;           // The kind of anomaly
+    private final String licensePlate; // The license plate of the car involved
+    private final int slot;            // The slot the car is or was last parked in
+    private final long timestamp;      // Epoch milliseconds at which the anomaly was detected
+    private final String message;      // A human readable description of the anomaly
+}
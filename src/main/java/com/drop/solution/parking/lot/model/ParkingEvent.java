@@ -0,0 +1,44 @@
+package com.drop.solution.parking.lot.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Represents a single mutation of the parking lot state.
+ *
+ * Events are numbered by the parking engine in the order they were applied,
+ * which makes the sequence of events a replayable log of the lot.
+ */
+@Getter
+@AllArgsConstructor
+public class ParkingEvent {
+
+    /**
+     * The kind of mutation an event describes.
+     */
+    public enum Type {
+        PARK,
+        UNPARK,
+        OPEN,   // A range of slots was opened or added to the lot
+        CLOSE   // A range of slots was closed and is drained by departing cars
+    }
+
+    private final long sequence;      // Position of the event in the mutation log, starting at 1
+    private final Type type;          // Whether a car entered or left, or slots were opened or closed
+    private final int slot;           // The slot that changed, or the first slot of the range
+    private final int lastSlot;       // The last slot of the range; equal to slot for park and unpark
+    private final String licensePlate; // The license plate of the car involved, null for range events
+    private final long parkedAt;      // Epoch milliseconds at which the car was parked, 0 for range events
+    private final long timestamp;     // Epoch milliseconds at which the mutation was applied
+
+    /**
+     * Returns a string representation of the ParkingEvent object.
+     *
+     * @return a string containing the event details formatted for logging
+     */
+    @Override
+    public String toString() {
+        return String.format("ParkingEvent{sequence=%d, type=%s, slot=%d, lastSlot=%d, licensePlate='%s', parkedAt=%d, timestamp=%d}",
+                sequence, type, slot, lastSlot, licensePlate, parkedAt, timestamp);
+    }
+}
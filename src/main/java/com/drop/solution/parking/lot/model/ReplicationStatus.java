@@ -0,0 +1,23 @@
+package com.drop.solution.parking.lot.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Describes the replication state of this instance.
+ *
+ * On a replica the lag is measured against the latest position announced by
+ * the primary; on a primary or standalone instance it is always zero.
+ */
+@Getter
+@AllArgsConstructor
+public class ReplicationStatus {
+
+    private final String role;              // STANDALONE, PRIMARY or REPLICA
+    private final long appliedSequence;     // Sequence of the last mutation applied locally
+    private final long primarySequence;     // Latest sequence known to exist on the primary
+    private final long lagEvents;           // Number of mutations not yet applied locally
+    private final long lagMillis;           // How long the replica has been behind the primary, by its own clock
+    private final boolean connected;        // Whether a replica is currently connected to its primary
+    private final int connectedReplicas;    // Number of replicas streaming from this primary
+}
@@ -0,0 +1,15 @@
+package com.drop.solution.parking.lot.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Represents an occupied parking slot in bulk read responses.
+ */
+@Getter
+@AllArgsConstructor
+public class SlotInfo {
+
+    private final int slot;             // The slot number
+    private final String licensePlate;  // The license plate of the car parked in the slot
+}
@@ -1,13 +1,15 @@
 package com.drop.solution.parking.lot.model;
 
+import lombok.AllArgsConstructor;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
+import lombok.NoArgsConstructor;
 
 /**
  * A class representing a successful response from the API.
  *
  */
-@RequiredArgsConstructor
+@AllArgsConstructor
+@NoArgsConstructor // For JSON readers such as the Java client and the wire format benchmark
 @Getter
 public class SuccessResponse {
     
@@ -16,6 +18,6 @@ public class SuccessResponse {
      * This message will provide information to the client about the success 
      * of the operation performed.
      */
-    private final String message;
+    private String message;
 
 }
\ No newline at end of file
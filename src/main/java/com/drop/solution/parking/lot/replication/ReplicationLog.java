@@ -0,0 +1,113 @@
+package com.drop.solution.parking.lot.replication;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.drop.solution.parking.lot.model.LotSnapshot;
+import com.drop.solution.parking.lot.model.ParkingEvent;
+import com.drop.solution.parking.lot.service.ParkingEventListener;
+
+/**
+ * Bounded, in-memory tail of the parking mutation log.
+ *
+ * The log keeps the most recent events in a ring buffer so that replicas which
+ * reconnect after a short interruption can catch up incrementally. Replicas
+ * that fall further behind than the retained window are sent a snapshot instead.
+ */
+@Component
+public class ReplicationLog implements ParkingEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicationLog.class);
+
+    private final ParkingEvent[] events;
+    private long firstSequence = 1; // Oldest sequence still retained
+    private long lastSequence;      // Newest sequence appended
+
+    /**
+     * Constructs a ReplicationLog retaining the given number of events.
+     *
+     * @param capacity the number of most recent events kept for incremental catch-up
+     */
+    public ReplicationLog(@Value("${parking.replication.log-capacity:100000}") int capacity) {
+        this.events = new ParkingEvent[capacity];
+        logger.info("ReplicationLog initialized with a capacity of {} events.", capacity);
+    }
+
+    /**
+     * Appends an applied mutation to the log.
+     *
+     * @param event the mutation that was applied
+     */
+    @Override
+    public synchronized void onEvent(ParkingEvent event) {
+        if (event.getSequence() != lastSequence + 1) {
+            logger.warn("Mutation log jumped from {} to {}; discarding retained events.",
+                    lastSequence, event.getSequence());
+            firstSequence = event.getSequence();
+        }
+        events[index(event.getSequence())] = event;
+        lastSequence = event.getSequence();
+        firstSequence = Math.max(firstSequence, lastSequence - events.length + 1);
+        notifyAll();
+    }
+
+    /**
+     * Discards the retained events after the lot state was replaced by a snapshot.
+     *
+     * @param snapshot the state the lot was reset to
+     */
+    @Override
+    public synchronized void onReset(LotSnapshot snapshot) {
+        lastSequence = snapshot.getSequence();
+        firstSequence = lastSequence + 1;
+        notifyAll();
+    }
+
+    /**
+     * Returns the events following the given sequence, waiting up to the
+     * timeout for new events when none are available yet.
+     *
+     * @param afterSequence the sequence of the last event the caller already has
+     * @param maxEvents the maximum number of events returned
+     * @param timeoutMillis how long to wait for new events
+     * @return the following events, empty if none arrived within the timeout, or
+     *         null if the requested events are no longer retained
+     * @throws InterruptedException if the waiting thread is interrupted
+     */
+    public synchronized List<ParkingEvent> readAfter(long afterSequence, int maxEvents, long timeoutMillis)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        long remaining;
+        while (lastSequence <= afterSequence && (remaining = deadline - System.nanoTime()) > 0) {
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+        if (afterSequence + 1 < firstSequence || afterSequence > lastSequence) {
+            return null;
+        }
+        long end = Math.min(lastSequence, afterSequence + maxEvents);
+        List<ParkingEvent> batch = new ArrayList<>((int) (end - afterSequence));
+        for (long seq = afterSequence + 1; seq <= end; seq++) {
+            batch.add(events[index(seq)]);
+        }
+        return batch;
+    }
+
+    /**
+     * Returns the sequence of the newest event in the log.
+     *
+     * @return the last appended sequence
+     */
+    public synchronized long getLastSequence() {
+        return lastSequence;
+    }
+
+    private int index(long sequence) {
+        return (int) (sequence % events.length);
+    }
+}
@@ -0,0 +1,147 @@
+package com.drop.solution.parking.lot.replication;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.drop.solution.parking.lot.model.ReplicationStatus;
+import com.drop.solution.parking.lot.service.imp.ParkingServiceImp;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Owns the replication role of this instance.
+ *
+ * A STANDALONE instance neither streams nor follows. A PRIMARY listens for
+ * replicas on the replication port. A REPLICA follows the configured primary
+ * and serves reads only, until it is promoted manually.
+ */
+@Component
+public class ReplicationManager {
+
+    /**
+     * The replication roles an instance can take.
+     */
+    public enum Role {
+        STANDALONE,
+        PRIMARY,
+        REPLICA
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicationManager.class);
+
+    private final ParkingServiceImp parkingService;
+    private final ReplicationLog replicationLog;
+    private final int listenPort;
+    private final String primaryHost;
+    private final int primaryPort;
+    private Role role;
+    private ReplicationPrimary primary;
+    private ReplicationReplica replica;
+
+    /**
+     * Constructs a ReplicationManager with the configured role.
+     *
+     * @param parkingService the local parking engine
+     * @param replicationLog the log the engine publishes its mutations to
+     * @param role the configured replication role
+     * @param listenPort the port a primary listens on for replicas
+     * @param primaryHost the host of the primary a replica follows
+     * @param primaryPort the replication port of the primary a replica follows
+     */
+    public ReplicationManager(ParkingServiceImp parkingService, ReplicationLog replicationLog,
+                              @Value("${parking.replication.role:standalone}") String role,
+                              @Value("${parking.replication.listen-port:7600}") int listenPort,
+                              @Value("${parking.replication.primary-host:localhost}") String primaryHost,
+                              @Value("${parking.replication.primary-port:7600}") int primaryPort) {
+        this.parkingService = parkingService;
+        this.replicationLog = replicationLog;
+        this.role = Role.valueOf(role.trim().toUpperCase());
+        this.listenPort = listenPort;
+        this.primaryHost = primaryHost;
+        this.primaryPort = primaryPort;
+    }
+
+    /**
+     * Starts streaming or following according to the configured role.
+     */
+    @PostConstruct
+    public synchronized void start() {
+        logger.info("Starting replication in {} role.", role);
+        if (role == Role.PRIMARY) {
+            startPrimary();
+        } else if (role == Role.REPLICA) {
+            replica = new ReplicationReplica(parkingService, primaryHost, primaryPort);
+            replica.start();
+        }
+    }
+
+    /**
+     * Stops streaming and following.
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        if (replica != null) {
+            replica.stop();
+        }
+        if (primary != null) {
+            primary.stop();
+        }
+    }
+
+    /**
+     * Promotes a replica to primary: it stops following, accepts park and unpark
+     * requests and starts streaming its own log to replicas. Promoting an
+     * instance that is not a replica leaves it unchanged.
+     *
+     * @return the replication status after the promotion
+     * @throws IllegalStateException if the replica is still applying events;
+     *         the instance stays a read-only replica and the promotion may be retried
+     */
+    public synchronized ReplicationStatus promote() {
+        if (role != Role.REPLICA) {
+            logger.info("Ignoring promotion of an instance in {} role.", role);
+            return getStatus();
+        }
+        if (!replica.stop()) {
+            throw new IllegalStateException("The replica is still applying events from its primary; retry the promotion.");
+        }
+        replica = null;
+        parkingService.startNewLog();
+        parkingService.setReadOnly(false);
+        role = Role.PRIMARY;
+        startPrimary();
+        logger.info("Promoted to primary at sequence {}.", parkingService.getSequence());
+        return getStatus();
+    }
+
+    /**
+     * Returns the current replication state of this instance.
+     *
+     * @return the role, applied position and lag of this instance
+     */
+    public synchronized ReplicationStatus getStatus() {
+        long applied = parkingService.getSequence();
+        if (role == Role.REPLICA) {
+            long primarySequence = replica.getPrimarySequence();
+            return new ReplicationStatus(role.name(), applied, primarySequence,
+                    Math.max(0, primarySequence - applied), replica.getLagMillis(), replica.isConnected(), 0);
+        }
+        int replicas = primary == null ? 0 : primary.getConnectedReplicas();
+        return new ReplicationStatus(role.name(), applied, applied, 0, 0, false, replicas);
+    }
+
+    private void startPrimary() {
+        primary = new ReplicationPrimary(parkingService, replicationLog, listenPort);
+        try {
+            primary.start();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to listen for replicas on port " + listenPort, ex);
+        }
+    }
+}
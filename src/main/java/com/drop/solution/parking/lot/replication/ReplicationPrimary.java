@@ -0,0 +1,174 @@
+package com.drop.solution.parking.lot.replication;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.drop.solution.parking.lot.model.LotSnapshot;
+import com.drop.solution.parking.lot.model.ParkingEvent;
+import com.drop.solution.parking.lot.service.imp.ParkingServiceImp;
+
+/**
+ * Streams the mutation log of this instance to connected replicas over TCP.
+ *
+ * Each replica is served by its own sender thread. A replica whose position is
+ * part of this primary's history and still covered by the {@link ReplicationLog}
+ * receives only the missing events; any other replica, including a former
+ * primary whose log diverged after a failover, first receives a snapshot.
+ */
+public class ReplicationPrimary {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicationPrimary.class);
+    private static final int BATCH_SIZE = 512;
+
+    private final ParkingServiceImp parkingService;
+    private final ReplicationLog replicationLog;
+    private final int port;
+    private final Set<Socket> replicas = ConcurrentHashMap.newKeySet();
+    private volatile ServerSocket serverSocket;
+
+    /**
+     * Constructs a ReplicationPrimary for the given engine and log.
+     *
+     * @param parkingService the engine whose state is replicated
+     * @param replicationLog the log the engine publishes its mutations to
+     * @param port the TCP port to listen on, or 0 for an ephemeral port
+     */
+    public ReplicationPrimary(ParkingServiceImp parkingService, ReplicationLog replicationLog, int port) {
+        this.parkingService = parkingService;
+        this.replicationLog = replicationLog;
+        this.port = port;
+    }
+
+    /**
+     * Binds the listening socket and starts accepting replicas.
+     *
+     * @throws IOException if the port cannot be bound
+     */
+    public synchronized void start() throws IOException {
+        ServerSocket socket = new ServerSocket();
+        socket.setReuseAddress(true);
+        socket.bind(new InetSocketAddress(port));
+        serverSocket = socket;
+        Thread acceptor = new Thread(this::acceptLoop, "replication-primary-accept");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        logger.info("Replication primary listening on port {}.", socket.getLocalPort());
+    }
+
+    /**
+     * Stops accepting replicas and disconnects the connected ones.
+     */
+    public synchronized void stop() {
+        closeQuietly(serverSocket);
+        replicas.forEach(ReplicationPrimary::closeQuietly);
+        replicas.clear();
+        logger.info("Replication primary stopped.");
+    }
+
+    /**
+     * Returns the port the primary is listening on.
+     *
+     * @return the bound local port
+     */
+    public int getLocalPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Returns the number of replicas currently streaming from this primary.
+     *
+     * @return the number of connected replicas
+     */
+    public int getConnectedReplicas() {
+        return replicas.size();
+    }
+
+    private void acceptLoop() {
+        ServerSocket socket = serverSocket;
+        while (!socket.isClosed()) {
+            try {
+                Socket replica = socket.accept();
+                replica.setTcpNoDelay(true);
+                replicas.add(replica);
+                Thread sender = new Thread(() -> serve(replica),
+                        "replication-sender-" + replica.getRemoteSocketAddress());
+                sender.setDaemon(true);
+                sender.start();
+            } catch (IOException ex) {
+                if (!socket.isClosed()) {
+                    logger.error("Failed to accept replica: {}", ex.getMessage(), ex);
+                }
+            }
+        }
+    }
+
+    private void serve(Socket replica) {
+        logger.info("Replica {} connected.", replica.getRemoteSocketAddress());
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(replica.getInputStream()));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(replica.getOutputStream()))) {
+            ReplicationProtocol.Hello hello = ReplicationProtocol.readHello(in);
+            long cursor = hello.sequence();
+            if (cursor == 0) {
+                cursor = sendSnapshot(out); // A new replica also needs the lot size
+            } else if (!parkingService.canResume(hello.logId(), cursor)) {
+                logger.info("Replica {} at {} of log {} does not share the history of log {}; sending snapshot.",
+                        replica.getRemoteSocketAddress(), cursor, Long.toHexString(hello.logId()),
+                        Long.toHexString(parkingService.getLogId()));
+                cursor = sendSnapshot(out);
+            }
+            while (!replica.isClosed()) {
+                List<ParkingEvent> batch = replicationLog.readAfter(cursor, BATCH_SIZE, ReplicationProtocol.HEARTBEAT_MILLIS);
+                if (batch == null) {
+                    logger.info("Replica {} is behind the retained log at {}; sending snapshot.",
+                            replica.getRemoteSocketAddress(), cursor);
+                    cursor = sendSnapshot(out);
+                    continue;
+                }
+                for (ParkingEvent event : batch) {
+                    ReplicationProtocol.writeEvent(out, event);
+                    cursor = event.getSequence();
+                }
+                ReplicationProtocol.writeHeartbeat(out, replicationLog.getLastSequence());
+                out.flush();
+            }
+        } catch (IOException ex) {
+            logger.info("Replica {} disconnected: {}", replica.getRemoteSocketAddress(), ex.getMessage());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            replicas.remove(replica);
+            closeQuietly(replica);
+        }
+    }
+
+    private long sendSnapshot(DataOutputStream out) throws IOException {
+        LotSnapshot snapshot = parkingService.snapshot();
+        ReplicationProtocol.writeSnapshot(out, snapshot);
+        out.flush();
+        return snapshot.getSequence();
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (IOException ex) {
+            logger.debug("Ignoring failure while closing {}: {}", closeable, ex.getMessage());
+        }
+    }
+}
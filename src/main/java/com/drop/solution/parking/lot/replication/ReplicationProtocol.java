@@ -0,0 +1,115 @@
+package com.drop.solution.parking.lot.replication;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.drop.solution.parking.lot.model.Car;
+import com.drop.solution.parking.lot.model.LotSnapshot;
+import com.drop.solution.parking.lot.model.ParkingEvent;
+
+/**
+ * Frame encoding of the replication stream.
+ *
+ * A replica opens the connection with a hello frame carrying the log ID and
+ * sequence it has applied. The primary answers with an optional snapshot frame
+ * followed by an open-ended stream of event and heartbeat frames.
+ */
+final class ReplicationProtocol {
+
+    static final int MAGIC = 0x504B4C32; // "PKL2"
+    static final byte SNAPSHOT = 'S';
+    static final byte EVENT = 'E';
+    static final byte HEARTBEAT = 'H';
+    static final long HEARTBEAT_MILLIS = 1000; // Longest silence of the primary on an idle stream
+
+    /**
+     * The position a replica resumes from: a sequence within a given log.
+     */
+    record Hello(long logId, long sequence) {
+    }
+
+    private ReplicationProtocol() {
+    }
+
+    static void writeHello(DataOutputStream out, long logId, long appliedSequence) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeLong(logId);
+        out.writeLong(appliedSequence);
+        out.flush();
+    }
+
+    static Hello readHello(DataInputStream in) throws IOException {
+        int magic = in.readInt();
+        if (magic != MAGIC) {
+            throw new IOException(String.format("Unexpected replication handshake 0x%08X.", magic));
+        }
+        return new Hello(in.readLong(), in.readLong());
+    }
+
+    static void writeSnapshot(DataOutputStream out, LotSnapshot snapshot) throws IOException {
+        out.writeByte(SNAPSHOT);
+        out.writeLong(snapshot.getLogId());
+        out.writeLong(snapshot.getSequence());
+        out.writeInt(snapshot.getSize());
+        out.writeInt(snapshot.getSlots().size());
+        for (Map.Entry<Integer, Car> entry : snapshot.getSlots().entrySet()) {
+            out.writeInt(entry.getKey());
+            out.writeUTF(entry.getValue().getLicensePlate());
+            out.writeLong(entry.getValue().getParkedAt());
+        }
+        long[] closed = snapshot.getClosedSlots().toLongArray();
+        out.writeInt(closed.length);
+        for (long word : closed) {
+            out.writeLong(word);
+        }
+    }
+
+    static LotSnapshot readSnapshot(DataInputStream in) throws IOException {
+        long logId = in.readLong();
+        long sequence = in.readLong();
+        int size = in.readInt();
+        int count = in.readInt();
+        Map<Integer, Car> slots = new HashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            int slot = in.readInt();
+            slots.put(slot, new Car(in.readUTF(), in.readLong()));
+        }
+        long[] closed = new long[in.readInt()];
+        for (int i = 0; i < closed.length; i++) {
+            closed[i] = in.readLong();
+        }
+        return new LotSnapshot(logId, sequence, size, slots, BitSet.valueOf(closed));
+    }
+
+    static void writeEvent(DataOutputStream out, ParkingEvent event) throws IOException {
+        out.writeByte(EVENT);
+        out.writeLong(event.getSequence());
+        out.writeByte(event.getType().ordinal());
+        out.writeInt(event.getSlot());
+        out.writeInt(event.getLastSlot());
+        out.writeUTF(event.getLicensePlate() == null ? "" : event.getLicensePlate());
+        out.writeLong(event.getParkedAt());
+        out.writeLong(event.getTimestamp());
+    }
+
+    static ParkingEvent readEvent(DataInputStream in) throws IOException {
+        long sequence = in.readLong();
+        ParkingEvent.Type type = ParkingEvent.Type.values()[in.readByte()];
+        int slot = in.readInt();
+        int lastSlot = in.readInt();
+        String licensePlate = in.readUTF();
+        long parkedAt = in.readLong();
+        long timestamp = in.readLong();
+        return new ParkingEvent(sequence, type, slot, lastSlot, licensePlate.isEmpty() ? null : licensePlate,
+                parkedAt, timestamp);
+    }
+
+    static void writeHeartbeat(DataOutputStream out, long primarySequence) throws IOException {
+        out.writeByte(HEARTBEAT);
+        out.writeLong(primarySequence);
+    }
+}
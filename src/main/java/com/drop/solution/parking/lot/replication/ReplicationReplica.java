@@ -0,0 +1,189 @@
+package com.drop.solution.parking.lot.replication;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.drop.solution.parking.lot.model.LotSnapshot;
+import com.drop.solution.parking.lot.model.ParkingEvent;
+import com.drop.solution.parking.lot.service.imp.ParkingServiceImp;
+
+/**
+ * Follows a replication primary and applies its mutation log to the local engine.
+ *
+ * While following, the local engine is read-only. The replica reconnects on
+ * its own after a connection loss, or when the primary stays silent for a few
+ * heartbeat intervals, and resumes from the last applied sequence.
+ */
+public class ReplicationReplica {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicationReplica.class);
+    private static final int CONNECT_TIMEOUT_MILLIS = 2000;
+    private static final long RECONNECT_DELAY_MILLIS = 1000;
+    private static final int READ_TIMEOUT_MILLIS = (int) (3 * ReplicationProtocol.HEARTBEAT_MILLIS);
+
+    private final ParkingServiceImp parkingService;
+    private final String primaryHost;
+    private final int primaryPort;
+    private volatile boolean running;
+    private volatile boolean connected;
+    private volatile long primarySequence;
+    private volatile long behindSince; // Local time the replica fell behind the primary, 0 when caught up
+    private volatile Socket socket;
+    private Thread follower;
+
+    /**
+     * Constructs a ReplicationReplica following the given primary.
+     *
+     * @param parkingService the local engine the mutations are applied to
+     * @param primaryHost the host name of the primary
+     * @param primaryPort the replication port of the primary
+     */
+    public ReplicationReplica(ParkingServiceImp parkingService, String primaryHost, int primaryPort) {
+        this.parkingService = parkingService;
+        this.primaryHost = primaryHost;
+        this.primaryPort = primaryPort;
+    }
+
+    /**
+     * Switches the local engine to read-only and starts following the primary.
+     */
+    public synchronized void start() {
+        parkingService.setReadOnly(true);
+        running = true;
+        follower = new Thread(this::followLoop, "replication-replica");
+        follower.setDaemon(true);
+        follower.start();
+        logger.info("Replica following primary {}:{}.", primaryHost, primaryPort);
+    }
+
+    /**
+     * Stops following the primary. The local engine stays read-only until it is promoted.
+     *
+     * @return true if the follower thread has exited and applies no more events
+     */
+    public synchronized boolean stop() {
+        running = false;
+        Socket current = socket;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException ex) {
+                logger.debug("Ignoring failure while closing replication socket: {}", ex.getMessage());
+            }
+        }
+        if (follower != null) {
+            follower.interrupt();
+            try {
+                follower.join(CONNECT_TIMEOUT_MILLIS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            if (follower.isAlive()) {
+                logger.warn("Replica follower for {}:{} is still applying events.", primaryHost, primaryPort);
+                return false;
+            }
+        }
+        logger.info("Replica stopped following primary {}:{}.", primaryHost, primaryPort);
+        return true;
+    }
+
+    /**
+     * Returns whether the replica is currently connected to its primary.
+     *
+     * @return true while a replication stream is open
+     */
+    public boolean isConnected() {
+        return connected;
+    }
+
+    /**
+     * Returns the latest sequence announced by the primary.
+     *
+     * @return the primary position as far as this replica knows
+     */
+    public long getPrimarySequence() {
+        return Math.max(primarySequence, parkingService.getSequence());
+    }
+
+    /**
+     * Returns how long the replica has been behind the primary. Both ends of
+     * the interval are taken from the local clock, so clock skew between the
+     * hosts does not show up as lag.
+     *
+     * @return the replication delay in milliseconds, 0 when caught up
+     */
+    public long getLagMillis() {
+        long since = behindSince;
+        return since == 0 ? 0 : Math.max(0, System.currentTimeMillis() - since);
+    }
+
+    private void followLoop() {
+        while (running) {
+            try (Socket current = new Socket()) {
+                socket = current;
+                current.connect(new InetSocketAddress(primaryHost, primaryPort), CONNECT_TIMEOUT_MILLIS);
+                current.setTcpNoDelay(true);
+                current.setSoTimeout(READ_TIMEOUT_MILLIS); // A half-dead primary fails the read instead of hanging it
+                follow(current);
+            } catch (IOException | IllegalStateException ex) {
+                if (running) {
+                    logger.warn("Replication stream from {}:{} interrupted: {}", primaryHost, primaryPort, ex.getMessage());
+                }
+            } finally {
+                connected = false;
+                socket = null;
+            }
+            if (running) {
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MILLIS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void follow(Socket current) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(current.getOutputStream()));
+        DataInputStream in = new DataInputStream(new BufferedInputStream(current.getInputStream()));
+        ReplicationProtocol.writeHello(out, parkingService.getLogId(), parkingService.getSequence());
+        connected = true;
+        logger.info("Connected to primary {}:{} at sequence {}.", primaryHost, primaryPort, parkingService.getSequence());
+
+        while (running) {
+            byte frame = in.readByte();
+            switch (frame) {
+                case ReplicationProtocol.SNAPSHOT -> {
+                    LotSnapshot snapshot = ReplicationProtocol.readSnapshot(in);
+                    parkingService.restore(snapshot);
+                    primarySequence = Math.max(primarySequence, snapshot.getSequence());
+                }
+                case ReplicationProtocol.EVENT -> {
+                    ParkingEvent event = ReplicationProtocol.readEvent(in);
+                    parkingService.applyEvent(event);
+                    primarySequence = Math.max(primarySequence, event.getSequence());
+                }
+                case ReplicationProtocol.HEARTBEAT -> primarySequence = in.readLong();
+                default -> throw new IOException("Unexpected replication frame " + frame + ".");
+            }
+            updateBehindSince();
+        }
+    }
+
+    private void updateBehindSince() {
+        if (parkingService.getSequence() >= primarySequence) {
+            behindSince = 0;
+        } else if (behindSince == 0) {
+            behindSince = System.currentTimeMillis();
+        }
+    }
+}
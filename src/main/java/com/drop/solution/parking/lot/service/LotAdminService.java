@@ -0,0 +1,51 @@
+package com.drop.solution.parking.lot.service;
+
+import com.drop.solution.parking.lot.exception.InvalidSlotNumberException;
+import com.drop.solution.parking.lot.model.LotCapacity;
+
+/**
+ * Interface representing the administrative operations that change the
+ * dimensions of the parking lot while it is in use.
+ */
+public interface LotAdminService {
+
+    /**
+     * Opens a range of slots for new cars. Slots beyond the current size are
+     * added to the lot, closed slots are reopened.
+     *
+     * @param fromSlot the first slot of the range
+     * @param toSlot the last slot of the range, inclusive
+     * @return the capacity of the lot after the change
+     * @throws InvalidSlotNumberException if the range is empty, starts below slot 1 or
+     *         ends beyond the maximum lot size
+     */
+    LotCapacity openSlots(int fromSlot, int toSlot);
+
+    /**
+     * Closes a range of slots for new cars. Parked cars may still leave; a
+     * closed range at the end of the lot is removed once it is empty.
+     *
+     * @param fromSlot the first slot of the range
+     * @param toSlot the last slot of the range, inclusive
+     * @return the capacity of the lot after the change
+     * @throws InvalidSlotNumberException if the range is not within the lot
+     */
+    LotCapacity closeSlots(int fromSlot, int toSlot);
+
+    /**
+     * Grows the lot to the given size, or shrinks it by closing the slots above it.
+     * Closed slots at the end of the lot that fall within the new size are reopened.
+     *
+     * @param newSize the requested number of slots
+     * @return the capacity of the lot after the change
+     * @throws InvalidSlotNumberException if the size is negative or above the maximum lot size
+     */
+    LotCapacity resize(int newSize);
+
+    /**
+     * Retrieves the current dimensions of the lot.
+     *
+     * @return the capacity of the lot
+     */
+    LotCapacity getCapacity();
+}
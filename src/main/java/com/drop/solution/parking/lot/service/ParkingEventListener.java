@@ -0,0 +1,31 @@
+package com.drop.solution.parking.lot.service;
+
+import com.drop.solution.parking.lot.model.LotSnapshot;
+import com.drop.solution.parking.lot.model.ParkingEvent;
+
+/**
+ * Callback interface for components that follow the mutations of the parking lot.
+ *
+ * Listeners are invoked synchronously, in sequence order, while the parking
+ * engine holds its mutation lock. Implementations must therefore be quick and
+ * must not call back into the parking service.
+ */
+public interface ParkingEventListener {
+
+    /**
+     * Called after a car was parked in or removed from a slot.
+     *
+     * @param event the mutation that was applied
+     */
+    void onEvent(ParkingEvent event);
+
+    /**
+     * Called after the whole lot state was replaced by a snapshot, for example
+     * when a replica catches up with its primary. Events following the reset
+     * continue from the snapshot sequence.
+     *
+     * @param snapshot the state the lot was reset to
+     */
+    default void onReset(LotSnapshot snapshot) {
+    }
+}
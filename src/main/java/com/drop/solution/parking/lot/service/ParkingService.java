@@ -3,7 +3,14 @@ package com.drop.solution.parking.lot.service;
 
 import com.drop.solution.parking.lot.exception.AlreadyParkedException;
 import com.drop.solution.parking.lot.exception.CarNotFoundException;
+import com.drop.solution.parking.lot.exception.LayoutNodeNotFoundException;
 import com.drop.solution.parking.lot.exception.ParkingLotFullException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.drop.solution.parking.lot.model.Availability;
+import com.drop.solution.parking.lot.model.BatchItemResult;
+import com.drop.solution.parking.lot.model.SlotInfo;
 import com.drop.solution.parking.lot.model.SuccessResponse;
 
 /**
@@ -25,6 +32,47 @@ public interface ParkingService {
      */
     SuccessResponse parkCar(String licensePlate);
 
+    /**
+     * Parks a car, preferring a free slot on the given level of the lot layout.
+     * When that level is full, the car is parked anywhere in the lot.
+     *
+     * @param licensePlate the license plate of the car to be parked
+     * @param preferredLevel the name of the level to park on
+     * @return a SuccessResponse indicating the result of the parking operation
+     * @throws LayoutNodeNotFoundException if the layout has no such level
+     * @throws ParkingLotFullException if there are no available parking slots
+     */
+    SuccessResponse parkCar(String licensePlate, String preferredLevel);
+
+    /**
+     * Parks a car, or waits in line for a slot when the lot is full.
+     *
+     * @param licensePlate the license plate of the car to be parked
+     * @return a future completed with the parking result once the car is parked,
+     *         or failed with a ParkingLotFullException when the wait times out
+     */
+    CompletableFuture<SuccessResponse> parkCarOrWait(String licensePlate);
+
+    /**
+     * Parks several cars in one call, in order. A car that cannot be parked does
+     * not stop the others.
+     *
+     * @param licensePlates the license plates of the cars to be parked
+     * @return one result per car, in request order, with the status and message
+     *         the single-car request would have produced
+     */
+    List<BatchItemResult> parkCars(List<String> licensePlates);
+
+    /**
+     * Unparks several cars in one call, in order. A car that cannot be unparked
+     * does not stop the others.
+     *
+     * @param licensePlates the license plates of the cars to be unparked
+     * @return one result per car, in request order, with the status and message
+     *         the single-car request would have produced
+     */
+    List<BatchItemResult> unparkCars(List<String> licensePlates);
+
     /**
      * Unparks a car from the parking lot using the specified license plate.
      *
@@ -44,4 +92,38 @@ public interface ParkingService {
      *         along with any relevant details (e.g., license plate of the parked car)
      */
     SuccessResponse getSlotInfo(int slot);
+
+    /**
+     * Retrieves all occupied parking slots in slot order.
+     *
+     * @return the occupied slots together with the license plates of the parked cars
+     */
+    List<SlotInfo> getOccupiedSlots();
+
+    /**
+     * Retrieves the free and occupied slots of the whole lot, broken down by
+     * level and zone of the lot layout.
+     *
+     * @return the availability of the lot with its levels and their zones
+     */
+    Availability getAvailability();
+
+    /**
+     * Retrieves the free and occupied slots of one level and its zones.
+     *
+     * @param level the name of the level
+     * @return the availability of the level
+     * @throws LayoutNodeNotFoundException if the layout has no such level
+     */
+    Availability getAvailability(String level);
+
+    /**
+     * Retrieves the free and occupied slots of one zone.
+     *
+     * @param level the name of the level
+     * @param zone the name of the zone on that level
+     * @return the availability of the zone
+     * @throws LayoutNodeNotFoundException if the layout has no such level or zone
+     */
+    Availability getAvailability(String level, String zone);
 }
@@ -1,75 +1,346 @@
 package com.drop.solution.parking.lot.service.imp;
 
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import com.drop.solution.parking.lot.exception.AlreadyParkedException;
 import com.drop.solution.parking.lot.exception.CarNotFoundException;
 import com.drop.solution.parking.lot.exception.InvalidSlotNumberException;
+import com.drop.solution.parking.lot.exception.LayoutNodeNotFoundException;
 import com.drop.solution.parking.lot.exception.ParkingLotFullException;
+import com.drop.solution.parking.lot.exception.ReadOnlyReplicaException;
+import com.drop.solution.parking.lot.jfr.ParkEvent;
+import com.drop.solution.parking.lot.jfr.ParkingRejectedEvent;
+import com.drop.solution.parking.lot.jfr.SlotInfoEvent;
+import com.drop.solution.parking.lot.jfr.UnparkEvent;
+import com.drop.solution.parking.lot.layout.LayoutCounters;
+import com.drop.solution.parking.lot.layout.LotLayout;
+import com.drop.solution.parking.lot.model.Availability;
+import com.drop.solution.parking.lot.model.BatchItemResult;
 import com.drop.solution.parking.lot.model.Car;
+import com.drop.solution.parking.lot.model.LotCapacity;
+import com.drop.solution.parking.lot.model.LotSnapshot;
+import com.drop.solution.parking.lot.model.ParkingEvent;
+import com.drop.solution.parking.lot.model.SlotInfo;
 import com.drop.solution.parking.lot.model.SuccessResponse;
+import com.drop.solution.parking.lot.service.LotAdminService;
+import com.drop.solution.parking.lot.service.ParkingEventListener;
 import com.drop.solution.parking.lot.service.ParkingService;
 import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
+import jdk.jfr.EventType;
 
 /**
  * Service class for managing parking operations.
  * This class handles the logic for parking and unparking cars,
  * as well as retrieving information about parking slots.
+ *
+ * Mutations are serialized on the service monitor and numbered, and every
+ * applied mutation is published to the registered {@link ParkingEventListener}s
+ * in that order. Reads go straight to the concurrent slot map without locking.
+ *
+ * Free, occupied and closed slots are tracked in bit sets next to a plate
+ * index and a few counters, so parking and unparking are constant time and
+ * opening or closing a range costs time proportional to the range, not the lot.
+ *
+ * An optional layout groups slot ranges into levels and zones. Their free and
+ * occupied counters move with every park and unpark, so availability at any
+ * level is read without scanning, and a car may ask for a slot on a given level.
+ *
+ * Cars that ask to wait for a full lot join a FIFO waitlist. A slot that
+ * becomes free is handed to the head of the waitlist under the same lock, so
+ * free slots and waiting cars never exist at the same time and a waiting car
+ * cannot be overtaken by a later request.
+ *
+ * Park, unpark, slot lookups and rejections are also reported as Java Flight
+ * Recorder events; while no recording enables them, each call only checks the
+ * cached enabled flag of the event type and allocates nothing.
  */
 @Service
-public class ParkingServiceImp implements ParkingService {
+public class ParkingServiceImp implements ParkingService, LotAdminService {
     private static final Logger logger = LoggerFactory.getLogger(ParkingServiceImp.class);
-    private final Map<Integer, Car> slots = new HashMap<>(); // Stores parked cars by slot number
-    private final int size;
+    private static final int DEFAULT_MAX_WAITING = 1000;
+    private static final long DEFAULT_WAIT_TIMEOUT_SECONDS = 60;
+    private static final int DEFAULT_MAX_SIZE = 10_000_000;
+    private static final EventType PARK_EVENT = EventType.getEventType(ParkEvent.class);
+    private static final EventType UNPARK_EVENT = EventType.getEventType(UnparkEvent.class);
+    private static final EventType SLOT_INFO_EVENT = EventType.getEventType(SlotInfoEvent.class);
+    private static final EventType REJECTED_EVENT = EventType.getEventType(ParkingRejectedEvent.class);
+    private final Map<Integer, Car> slots = new ConcurrentHashMap<>(); // Stores parked cars by slot number
+    private final Map<String, Integer> slotByPlate = new HashMap<>(); // Slot of each parked car, guarded by this
+    private final BitSet freeSlots = new BitSet();     // Open slots without a car, guarded by this
+    private final BitSet occupiedSlots = new BitSet(); // Slots with a car, guarded by this
+    private final BitSet closedSlots = new BitSet();   // Slots closed for new cars, guarded by this
+    private int freeCount;     // Cardinality of freeSlots, guarded by this
+    private int closedCount;   // Cardinality of closedSlots, guarded by this
+    private int drainingCount; // Closed slots that still hold a car, guarded by this
+    private final LayoutCounters layoutCounters; // Per level and zone counters, guarded by this
+    private final Map<String, CompletableFuture<SuccessResponse>> waitlist = new LinkedHashMap<>(); // FIFO, guarded by this
+    private final List<ParkingEventListener> listeners;
+    private final int maxWaiting;
+    private final long waitTimeoutMillis;
+    private final int maxSize; // Highest slot the lot may grow to
+    private volatile int size;
+    private volatile boolean readOnly; // Set while this instance follows a replication primary
+    private long sequence; // Sequence of the last applied mutation, guarded by this
+    private long logId = newLogId(); // Identifies the log sequence belongs to, guarded by this
+    private long previousLogId;      // The log this one continues after a promotion, guarded by this
+    private long previousLogEnd;     // The last sequence shared with the previous log, guarded by this
 
     /**
      * Constructs a ParkingServiceImp with the specified parking lot size.
      *
      * @param size the number of parking slots
      */
-    public ParkingServiceImp(@Value("${parking.lot.size}") int size) {
+    public ParkingServiceImp(int size) {
+        this(size, List.of());
+    }
+
+    /**
+     * Constructs a ParkingServiceImp with the specified parking lot size and
+     * the listeners that follow its mutations, using the default waitlist limits.
+     *
+     * @param size the number of parking slots
+     * @param listeners the listeners notified of every applied mutation
+     */
+    public ParkingServiceImp(int size, List<ParkingEventListener> listeners) {
+        this(size, listeners, DEFAULT_MAX_WAITING, DEFAULT_WAIT_TIMEOUT_SECONDS);
+    }
+
+    /**
+     * Constructs a ParkingServiceImp with the specified parking lot size,
+     * the listeners that follow its mutations and the waitlist limits, without levels.
+     *
+     * @param size the number of parking slots
+     * @param listeners the listeners notified of every applied mutation
+     * @param maxWaiting the maximum number of cars waiting for a slot, 0 to disable waiting
+     * @param waitTimeoutSeconds how long a car waits for a slot before giving up
+     */
+    public ParkingServiceImp(int size, List<ParkingEventListener> listeners, int maxWaiting, long waitTimeoutSeconds) {
+        this(size, listeners, maxWaiting, waitTimeoutSeconds, "");
+    }
+
+    /**
+     * Constructs a ParkingServiceImp with the specified parking lot size,
+     * the listeners that follow its mutations, the waitlist limits and the layout.
+     *
+     * @param size the number of parking slots
+     * @param listeners the listeners notified of every applied mutation
+     * @param maxWaiting the maximum number of cars waiting for a slot, 0 to disable waiting
+     * @param waitTimeoutSeconds how long a car waits for a slot before giving up
+     * @param layout the levels and zones of the lot, as parsed by {@link LotLayout#parse(String)}
+     */
+    public ParkingServiceImp(int size, List<ParkingEventListener> listeners, int maxWaiting, long waitTimeoutSeconds,
+                             String layout) {
+        this(size, listeners, maxWaiting, waitTimeoutSeconds, layout, DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Constructs a ParkingServiceImp with the specified parking lot size,
+     * the listeners that follow its mutations, the waitlist limits, the layout
+     * and the largest size the lot may be grown to.
+     *
+     * @param size the number of parking slots
+     * @param listeners the listeners notified of every applied mutation
+     * @param maxWaiting the maximum number of cars waiting for a slot, 0 to disable waiting
+     * @param waitTimeoutSeconds how long a car waits for a slot before giving up
+     * @param layout the levels and zones of the lot, as parsed by {@link LotLayout#parse(String)}
+     * @param maxSize the highest slot number open, resize and import may reach
+     */
+    @Autowired
+    public ParkingServiceImp(@Value("${parking.lot.size}") int size, List<ParkingEventListener> listeners,
+                             @Value("${parking.waitlist.max-length:" + DEFAULT_MAX_WAITING + "}") int maxWaiting,
+                             @Value("${parking.waitlist.timeout-seconds:" + DEFAULT_WAIT_TIMEOUT_SECONDS + "}") long waitTimeoutSeconds,
+                             @Value("${parking.layout:}") String layout,
+                             @Value("${parking.lot.max-size:" + DEFAULT_MAX_SIZE + "}") int maxSize) {
+        if (size < 0 || size > maxSize) {
+            throw new IllegalArgumentException(String.format("Lot size %d is not between 0 and %d.", size, maxSize));
+        }
         this.size = size;
-        logger.info("ParkingServiceImp initialized with {} slots.", size);
+        this.maxSize = maxSize;
+        this.listeners = List.copyOf(listeners);
+        this.maxWaiting = maxWaiting;
+        this.waitTimeoutMillis = TimeUnit.SECONDS.toMillis(waitTimeoutSeconds);
+        this.layoutCounters = new LayoutCounters(LotLayout.parse(layout));
+        freeSlots.set(1, size + 1);
+        freeCount = size;
+        layoutCounters.setLotSize(size);
+        layoutCounters.recount(1, Integer.MAX_VALUE, freeSlots, occupiedSlots, closedSlots);
+        logger.info("ParkingServiceImp initialized with {} slots, {} levels and {} listeners.",
+                size, layoutCounters.getLayout().getLevelNames().size(), listeners.size());
     }
 
-	
+
 
     /**
      * Parks a car with the given license plate in the parking lot.
+     * The car is assigned the lowest free slot.
      *
      * @param licensePlate the license plate of the car to park
      * @return a message indicating the result of the parking attempt
      */
-    
+
     @RateLimiter(name = "apiRateLimiter")
 	@Override
-    public SuccessResponse parkCar(String licensePlate) {
-        Car newCar = new Car(licensePlate); // Create a new Car object
+    public synchronized SuccessResponse parkCar(String licensePlate) {
+        return park(licensePlate, -1);
+    }
+
+    /**
+     * Parks a car, preferring the lowest free slot on the given level. When the
+     * level is full, the car is assigned the lowest free slot of the lot.
+     *
+     * @param licensePlate the license plate of the car to park
+     * @param preferredLevel the name of the level to park on
+     * @return a message indicating the result of the parking attempt
+     */
+    @RateLimiter(name = "apiRateLimiter")
+    @Override
+    public synchronized SuccessResponse parkCar(String licensePlate, String preferredLevel) {
+        checkWritable(); // A replica answers 503 whatever the level
+        int level = layoutCounters.getLayout().levelIndexOf(preferredLevel);
+        if (level < 0) {
+            throw new LayoutNodeNotFoundException("Level " + preferredLevel + " not found.");
+        }
+        return park(licensePlate, level);
+    }
+
+    private SuccessResponse park(String licensePlate, int preferredLevel) {
+        ParkEvent event = null;
+        if (PARK_EVENT.isEnabled()) {
+            event = new ParkEvent();
+            event.begin();
+        }
+        checkWritable();
         logger.debug("Attempting to park car with license plate: {}", licensePlate);
 
-        for (int i = 1; i <= size; i++) {
-            if (slots.containsValue(newCar)) {
-            	String message = String.format("Car with license plate %s is already parked.", licensePlate);
-                logger.warn(message);
-                throw new AlreadyParkedException(message);
-            }
+        if (slotByPlate.containsKey(licensePlate)) {
+            String message = String.format("Car with license plate %s is already parked.", licensePlate);
+            logger.warn(message);
+            recordRejection("park", AlreadyParkedException.class, licensePlate, slotByPlate.get(licensePlate), 0);
+            throw new AlreadyParkedException(message);
+        }
 
-            Car parkedCar = slots.computeIfAbsent(i, k -> newCar );
+        int slot = preferredLevel < 0 ? -1 : layoutCounters.firstFreeSlot(preferredLevel, freeSlots);
+        if (slot < 0) {
+            slot = freeSlots.nextSetBit(1);
+        }
+        if (slot < 0) {
+            String message = String.format("Parking lot is full; unable to park car with license plate %s.", licensePlate);
+            logger.error(message);
+            recordRejection("park", ParkingLotFullException.class, licensePlate, 0, scanLength(size));
+            throw new ParkingLotFullException(licensePlate); // No available slots
+        }
+
+        long now = System.currentTimeMillis();
+        occupy(slot, licensePlate, now);
+        publish(ParkingEvent.Type.PARK, slot, slot, licensePlate, now, now);
+        String message = String.format("Car with license plate %s parked in slot %d.", licensePlate, slot);
+        logger.info(message);
+        if (event != null && event.shouldCommit()) {
+            event.plateHash = licensePlate.hashCode();
+            event.slot = slot;
+            event.scanLength = scanLength(slot);
+            event.commit();
+        }
+        return new SuccessResponse(message);
+    }
 
-            if (parkedCar == newCar) {
-            	String message = String.format("Car with license plate %s parked in slot %d.", licensePlate, i);
-                logger.info(message);
-                return new SuccessResponse(message);
+    /**
+     * Parks a car, or puts it on the waitlist when the lot is full. A waiting
+     * car is parked in the next slot that becomes free; if none becomes free
+     * within the wait timeout, the returned future fails with a
+     * ParkingLotFullException. Asking again for a car that is already waiting
+     * returns the same future. Cancelling the future takes the car off the
+     * waitlist, so no slot is handed to a caller that is gone.
+     *
+     * @param licensePlate the license plate of the car to park
+     * @return a future completed with the parking result
+     */
+    @Override
+    public synchronized CompletableFuture<SuccessResponse> parkCarOrWait(String licensePlate) {
+        checkWritable();
+        CompletableFuture<SuccessResponse> waiting = waitlist.get(licensePlate);
+        if (waiting != null && !waiting.isDone()) {
+            logger.debug("Car with license plate {} is already waiting for a slot.", licensePlate);
+            return waiting;
+        }
+        if (!freeSlots.isEmpty() || slotByPlate.containsKey(licensePlate) || waitlist.size() >= maxWaiting) {
+            return CompletableFuture.completedFuture(park(licensePlate, -1));
+        }
+
+        CompletableFuture<SuccessResponse> future = new CompletableFuture<>();
+        waitlist.put(licensePlate, future);
+        CompletableFuture.delayedExecutor(waitTimeoutMillis, TimeUnit.MILLISECONDS)
+                .execute(() -> expireWaiting(licensePlate, future));
+        future.whenComplete((response, ex) -> {
+            if (future.isCancelled()) {
+                cancelWaiting(licensePlate, future);
             }
+        });
+        logger.info("Parking lot is full; car with license plate {} is waiting at position {}.",
+                licensePlate, waitlist.size());
+        return future;
+    }
+
+    /**
+     * Parks several cars under a single acquisition of the lot lock.
+     *
+     * @param licensePlates the license plates of the cars to park
+     * @return one result per car, in request order
+     */
+    @Override
+    public synchronized List<BatchItemResult> parkCars(List<String> licensePlates) {
+        checkWritable();
+        List<BatchItemResult> results = new ArrayList<>(licensePlates.size());
+        for (String licensePlate : licensePlates) {
+            results.add(batchItem(licensePlate, () -> parkCar(licensePlate)));
+        }
+        logger.debug("Processed batch of {} park requests.", licensePlates.size());
+        return results;
+    }
+
+    /**
+     * Unparks several cars under a single acquisition of the lot lock.
+     *
+     * @param licensePlates the license plates of the cars to unpark
+     * @return one result per car, in request order
+     */
+    @Override
+    public synchronized List<BatchItemResult> unparkCars(List<String> licensePlates) {
+        checkWritable();
+        List<BatchItemResult> results = new ArrayList<>(licensePlates.size());
+        for (String licensePlate : licensePlates) {
+            results.add(batchItem(licensePlate, () -> unparkCar(licensePlate)));
         }
-        String message = String.format("Parking lot is full; unable to park car with license plate %s.", licensePlate);
-        logger.error(message);
-        throw new ParkingLotFullException(licensePlate); // No available slots
+        logger.debug("Processed batch of {} unpark requests.", licensePlates.size());
+        return results;
+    }
+
+    /**
+     * Returns the number of cars waiting for a slot.
+     *
+     * @return the length of the waitlist
+     */
+    public synchronized int getWaitingCount() {
+        return waitlist.size();
     }
 
     /**
@@ -80,21 +351,34 @@ public class ParkingServiceImp implements ParkingService {
      */
     @RateLimiter(name = "apiRateLimiter")
     @Override
-    public SuccessResponse unparkCar(String licensePlate) throws CarNotFoundException {
+    public synchronized SuccessResponse unparkCar(String licensePlate) throws CarNotFoundException {
+        UnparkEvent event = null;
+        if (UNPARK_EVENT.isEnabled()) {
+            event = new UnparkEvent();
+            event.begin();
+        }
+        checkWritable();
         logger.debug("Attempting to unpark car with license plate: {}", licensePlate);
 
-        for (Map.Entry<Integer, Car> entry : slots.entrySet()) {
-            if (entry.getValue() != null && entry.getValue().getLicensePlate().equals(licensePlate)) {
-                slots.remove(entry.getKey());
-                String message = String.format("Car with license plate %s removed from slot %d.", licensePlate, entry.getKey());
-                logger.info(message);
-                return new SuccessResponse(message);
-            }
+        Integer slot = slotByPlate.get(licensePlate);
+        if (slot == null) {
+            logger.warn("Car with license plate {} not found in parking lot.", licensePlate);
+            recordRejection("unpark", CarNotFoundException.class, licensePlate, 0, 0);
+            throw new CarNotFoundException("Car with license plate " + licensePlate + " not found.");
         }
 
-        logger.warn("Car with license plate {} not found in parking lot.", licensePlate);
-        throw new CarNotFoundException("Car with license plate " + licensePlate + " not found.");
-        // If the car is not found
+        Car car = vacate(slot, licensePlate);
+        publish(ParkingEvent.Type.UNPARK, slot, slot, licensePlate, car.getParkedAt(), System.currentTimeMillis());
+        trimClosedTail();
+        handOffFreeSlots();
+        String message = String.format("Car with license plate %s removed from slot %d.", licensePlate, slot);
+        logger.info(message);
+        if (event != null && event.shouldCommit()) {
+            event.plateHash = licensePlate.hashCode();
+            event.slot = slot;
+            event.commit();
+        }
+        return new SuccessResponse(message);
     }
 
     /**
@@ -107,10 +391,15 @@ public class ParkingServiceImp implements ParkingService {
     @Override
     public SuccessResponse getSlotInfo(int slot) {
     	if(slot<=size) {
+	        SlotInfoEvent event = null;
+	        if (SLOT_INFO_EVENT.isEnabled()) {
+	            event = new SlotInfoEvent();
+	            event.begin();
+	        }
 	        logger.debug("Retrieving information for slot: {}", slot);
 	        Car car = slots.get(slot);
 	        String message;
-	
+
 	        if (car == null) {
 	            message = String.format("Slot %d is empty.", slot);
 	            logger.info(message);
@@ -118,12 +407,561 @@ public class ParkingServiceImp implements ParkingService {
 	            message = String.format("Slot %d is occupied by car with license plate %s.", slot, car.getLicensePlate());
 	            logger.info(message);
 	        }
-	        
+
+	        if (event != null && event.shouldCommit()) {
+	            event.slot = slot;
+	            event.occupied = car != null;
+	            event.commit();
+	        }
 	        return new SuccessResponse(message);
     	} else {
     		 String message = String.format("Invalid Slot number %d", slot);
             logger.info(message);
+            recordRejection("slotInfo", InvalidSlotNumberException.class, null, slot, 0);
     		throw new InvalidSlotNumberException(message);
     	}
     }
+
+    /**
+     * Retrieves all occupied parking slots in slot order.
+     *
+     * @return the occupied slots together with the license plates of the parked cars
+     */
+    @RateLimiter(name = "apiRateLimiter")
+    @Override
+    public List<SlotInfo> getOccupiedSlots() {
+        List<SlotInfo> occupied = new ArrayList<>();
+        int currentSize = size;
+        for (int i = 1; i <= currentSize; i++) {
+            Car car = slots.get(i);
+            if (car != null) {
+                occupied.add(new SlotInfo(i, car.getLicensePlate()));
+            }
+        }
+        logger.debug("Retrieved {} occupied slots.", occupied.size());
+        return occupied;
+    }
+
+    /**
+     * Opens a range of slots for new cars, growing the lot if the range ends beyond it.
+     *
+     * @param fromSlot the first slot of the range
+     * @param toSlot the last slot of the range, inclusive
+     * @return the capacity of the lot after the change
+     */
+    @Override
+    public synchronized LotCapacity openSlots(int fromSlot, int toSlot) {
+        checkWritable();
+        checkRange(fromSlot, toSlot, maxSize);
+        applyOpen(fromSlot, toSlot);
+        publish(ParkingEvent.Type.OPEN, fromSlot, toSlot, null, 0, System.currentTimeMillis());
+        logger.info("Opened slots {} to {}; lot size is now {}.", fromSlot, toSlot, size);
+        handOffFreeSlots();
+        return getCapacity();
+    }
+
+    /**
+     * Closes a range of slots for new cars; parked cars drain out over time.
+     *
+     * @param fromSlot the first slot of the range
+     * @param toSlot the last slot of the range, inclusive
+     * @return the capacity of the lot after the change
+     */
+    @Override
+    public synchronized LotCapacity closeSlots(int fromSlot, int toSlot) {
+        checkWritable();
+        checkRange(fromSlot, toSlot, size);
+        applyClose(fromSlot, toSlot);
+        publish(ParkingEvent.Type.CLOSE, fromSlot, toSlot, null, 0, System.currentTimeMillis());
+        trimClosedTail();
+        logger.info("Closed slots {} to {}; lot size is now {}.", fromSlot, toSlot, size);
+        return getCapacity();
+    }
+
+    /**
+     * Grows the lot to the given size, or shrinks it by closing the slots above it.
+     * Growing, or resizing within a shrink that is still draining, first reopens
+     * the closed slots at the end of the lot, so the lot ends up with exactly
+     * the requested number of open slots at its end.
+     *
+     * @param newSize the requested number of slots
+     * @return the capacity of the lot after the change
+     */
+    @Override
+    public synchronized LotCapacity resize(int newSize) {
+        if (newSize < 0 || newSize > maxSize) {
+            throw new InvalidSlotNumberException(String.format("Invalid lot size %d", newSize));
+        }
+        int closedTail = closedSlots.previousClearBit(size) + 1; // First slot of the closed run ending the lot
+        if (newSize >= closedTail) {
+            return openSlots(closedTail, newSize);
+        }
+        if (newSize < closedTail - 1) {
+            return closeSlots(newSize + 1, size);
+        }
+        return getCapacity();
+    }
+
+    /**
+     * Retrieves the current dimensions of the lot.
+     *
+     * @return the capacity of the lot
+     */
+    @Override
+    public synchronized LotCapacity getCapacity() {
+        return new LotCapacity(size, size - closedCount, closedCount, slotByPlate.size(), freeCount, drainingCount);
+    }
+
+    /**
+     * Retrieves the free and occupied slots of the lot and of each level and zone.
+     *
+     * @return the availability of the lot, with its levels and their zones
+     */
+    @Override
+    public synchronized Availability getAvailability() {
+        return new Availability("lot", size - closedCount, freeCount, slotByPlate.size(), layoutCounters.levels());
+    }
+
+    /**
+     * Retrieves the free and occupied slots of a level and its zones.
+     *
+     * @param level the level name
+     * @return the availability of the level
+     */
+    @Override
+    public synchronized Availability getAvailability(String level) {
+        return layoutCounters.level(levelIndex(level));
+    }
+
+    /**
+     * Retrieves the free and occupied slots of a zone.
+     *
+     * @param level the level name
+     * @param zone the zone name on that level
+     * @return the availability of the zone
+     */
+    @Override
+    public synchronized Availability getAvailability(String level, String zone) {
+        int zoneIndex = layoutCounters.getLayout().zoneIndexOf(levelIndex(level), zone);
+        if (zoneIndex < 0) {
+            throw new LayoutNodeNotFoundException("Zone " + zone + " not found on level " + level + ".");
+        }
+        return layoutCounters.zone(zoneIndex);
+    }
+
+    /**
+     * Parks a batch of cars in the given slots in one pass, growing the lot
+     * to the highest slot if needed. The batch is validated as a whole before
+     * any car is parked, so it is either loaded completely or not at all.
+     * Every car is published as a PARK event that keeps its original parking time.
+     *
+     * @param cars the cars to load, keyed by slot
+     * @return the number of cars loaded
+     */
+    public synchronized int importCars(Map<Integer, Car> cars) {
+        checkWritable();
+        int maxSlot = 0;
+        Set<String> plates = new HashSet<>(cars.size() * 2);
+        for (Map.Entry<Integer, Car> entry : cars.entrySet()) {
+            int slot = entry.getKey();
+            String licensePlate = entry.getValue().getLicensePlate();
+            if (slot < 1 || slot > maxSize) {
+                throw new InvalidSlotNumberException(String.format("Invalid Slot number %d", slot));
+            }
+            if (closedSlots.get(slot) || occupiedSlots.get(slot)) {
+                throw new InvalidSlotNumberException(String.format("Slot %d is not free.", slot));
+            }
+            if (slotByPlate.containsKey(licensePlate) || waitlist.containsKey(licensePlate) || !plates.add(licensePlate)) {
+                throw new AlreadyParkedException(String.format("Car with license plate %s is already parked.", licensePlate));
+            }
+            maxSlot = Math.max(maxSlot, slot);
+        }
+
+        long now = System.currentTimeMillis();
+        if (maxSlot > size) {
+            int fromSlot = size + 1;
+            applyOpen(fromSlot, maxSlot);
+            publish(ParkingEvent.Type.OPEN, fromSlot, maxSlot, null, 0, now);
+        }
+        for (Map.Entry<Integer, Car> entry : cars.entrySet()) {
+            Car car = entry.getValue();
+            occupy(entry.getKey(), car.getLicensePlate(), car.getParkedAt());
+            publish(ParkingEvent.Type.PARK, entry.getKey(), entry.getKey(), car.getLicensePlate(), car.getParkedAt(), now);
+        }
+        handOffFreeSlots();
+        logger.debug("Imported {} cars; lot size is now {}.", cars.size(), size);
+        return cars.size();
+    }
+
+    /**
+     * Returns the car parked in a slot without locking.
+     *
+     * @param slot the number of the parking slot
+     * @return the parked car, or null if the slot is empty or does not exist
+     */
+    public Car getParkedCar(int slot) {
+        return slots.get(slot);
+    }
+
+    /**
+     * Applies a mutation received from a replication primary.
+     * Events that were already applied are ignored.
+     *
+     * @param event the mutation to apply
+     * @throws IllegalStateException if the event does not directly follow the last applied one
+     */
+    public synchronized void applyEvent(ParkingEvent event) {
+        if (event.getSequence() <= sequence) {
+            logger.debug("Ignoring already applied event {}.", event.getSequence());
+            return;
+        }
+        if (event.getSequence() != sequence + 1) {
+            throw new IllegalStateException(String.format(
+                    "Replication gap: expected event %d but received %d.", sequence + 1, event.getSequence()));
+        }
+        switch (event.getType()) {
+            case PARK -> occupy(event.getSlot(), event.getLicensePlate(), event.getParkedAt());
+            case UNPARK -> vacate(event.getSlot(), event.getLicensePlate());
+            case OPEN -> applyOpen(event.getSlot(), event.getLastSlot());
+            case CLOSE -> applyClose(event.getSlot(), event.getLastSlot());
+        }
+        sequence = event.getSequence();
+        notifyListeners(event);
+        if (event.getType() == ParkingEvent.Type.UNPARK || event.getType() == ParkingEvent.Type.CLOSE) {
+            trimClosedTail();
+        }
+    }
+
+    /**
+     * Takes a consistent copy of the lot state together with the sequence it reflects.
+     *
+     * @return the current snapshot of the lot
+     */
+    public synchronized LotSnapshot snapshot() {
+        return new LotSnapshot(logId, sequence, size, new HashMap<>(slots), (BitSet) closedSlots.clone());
+    }
+
+    /**
+     * Replaces the whole lot state with the given snapshot.
+     *
+     * @param snapshot the state to restore
+     */
+    public synchronized void restore(LotSnapshot snapshot) {
+        slots.clear();
+        slotByPlate.clear();
+        occupiedSlots.clear();
+        closedSlots.clear();
+        closedSlots.or(snapshot.getClosedSlots());
+        size = snapshot.getSize();
+        snapshot.getSlots().forEach((slot, car) -> {
+            slots.put(slot, car);
+            slotByPlate.put(car.getLicensePlate(), slot);
+            occupiedSlots.set(slot);
+        });
+        freeSlots.clear();
+        freeSlots.set(1, size + 1);
+        freeSlots.andNot(occupiedSlots);
+        freeSlots.andNot(closedSlots);
+        BitSet draining = (BitSet) closedSlots.clone();
+        draining.and(occupiedSlots);
+        freeCount = freeSlots.cardinality();
+        layoutCounters.setLotSize(size);
+        layoutCounters.recount(1, Integer.MAX_VALUE, freeSlots, occupiedSlots, closedSlots);
+        closedCount = closedSlots.cardinality();
+        drainingCount = draining.cardinality();
+        sequence = snapshot.getSequence();
+        logId = snapshot.getLogId();
+        previousLogId = 0;
+        previousLogEnd = 0;
+        logger.info("Restored snapshot at sequence {} with {} parked cars.", sequence, slots.size());
+        for (ParkingEventListener listener : listeners) {
+            try {
+                listener.onReset(snapshot);
+            } catch (RuntimeException ex) {
+                logger.error("Parking event listener {} failed on reset: {}", listener, ex.getMessage(), ex);
+            }
+        }
+    }
+
+    /**
+     * Returns the sequence of the last applied mutation.
+     *
+     * @return the current position in the mutation log
+     */
+    public synchronized long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Returns the ID of the mutation log the current sequence belongs to.
+     *
+     * @return the log ID, shared by a primary and the replicas following it
+     */
+    public synchronized long getLogId() {
+        return logId;
+    }
+
+    /**
+     * Starts a new mutation log after this replica is promoted. Sequences up to
+     * the current one remain shared with the previous primary's log; later ones
+     * belong to this instance only.
+     */
+    public synchronized void startNewLog() {
+        previousLogId = logId;
+        previousLogEnd = sequence;
+        logId = newLogId();
+        logger.info("Started log {} continuing log {} after sequence {}.", Long.toHexString(logId),
+                Long.toHexString(previousLogId), previousLogEnd);
+    }
+
+    /**
+     * Returns whether a replica at the given position holds a prefix of this
+     * instance's history and can resume with incremental events.
+     *
+     * @param replicaLogId the log ID the replica has applied events from
+     * @param replicaSequence the last sequence the replica has applied
+     * @return true if the replica's state matches this log up to its sequence
+     */
+    public synchronized boolean canResume(long replicaLogId, long replicaSequence) {
+        return (replicaLogId == logId && replicaSequence <= sequence)
+                || (replicaLogId == previousLogId && replicaSequence <= previousLogEnd);
+    }
+
+    /**
+     * Switches the service between accepting and rejecting park and unpark requests.
+     *
+     * @param readOnly true while this instance follows a replication primary
+     */
+    public void setReadOnly(boolean readOnly) {
+        this.readOnly = readOnly;
+        logger.info("ParkingServiceImp is now {}.", readOnly ? "read-only" : "writable");
+    }
+
+    /**
+     * Returns whether park and unpark requests are currently rejected.
+     *
+     * @return true if this instance is a read-only replica
+     */
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    private static long newLogId() {
+        long id;
+        do {
+            id = UUID.randomUUID().getMostSignificantBits();
+        } while (id == 0); // 0 marks the absence of a previous log
+        return id;
+    }
+
+    private void checkWritable() {
+        if (readOnly) {
+            throw new ReadOnlyReplicaException("This instance is a read-only replica; send park and unpark requests to the primary.");
+        }
+    }
+
+    private int levelIndex(String level) {
+        int index = layoutCounters.getLayout().levelIndexOf(level);
+        if (index < 0) {
+            throw new LayoutNodeNotFoundException("Level " + level + " not found.");
+        }
+        return index;
+    }
+
+    private static void checkRange(int fromSlot, int toSlot, int maxSlot) {
+        if (fromSlot < 1 || toSlot < fromSlot || toSlot > maxSlot) {
+            String message = String.format("Invalid slot range %d to %d", fromSlot, toSlot);
+            logger.info(message);
+            throw new InvalidSlotNumberException(message);
+        }
+    }
+
+    private void occupy(int slot, String licensePlate, long parkedAt) {
+        slots.put(slot, new Car(licensePlate, parkedAt));
+        slotByPlate.put(licensePlate, slot);
+        occupiedSlots.set(slot);
+        boolean wasFree = freeSlots.get(slot);
+        if (wasFree) {
+            freeSlots.clear(slot);
+            freeCount--;
+        }
+        layoutCounters.occupied(slot, wasFree);
+        if (closedSlots.get(slot)) {
+            drainingCount++;
+        }
+    }
+
+    private Car vacate(int slot, String licensePlate) {
+        Car car = slots.remove(slot);
+        slotByPlate.remove(licensePlate);
+        occupiedSlots.clear(slot);
+        boolean closed = closedSlots.get(slot);
+        if (closed) {
+            drainingCount--;
+        } else {
+            freeSlots.set(slot);
+            freeCount++;
+        }
+        layoutCounters.vacated(slot, !closed);
+        return car;
+    }
+
+    private void applyOpen(int fromSlot, int toSlot) {
+        BitSet closedInRange = closedSlots.get(fromSlot, toSlot + 1);
+        BitSet drainingInRange = occupiedSlots.get(fromSlot, toSlot + 1);
+        drainingInRange.and(closedInRange);
+        closedCount -= closedInRange.cardinality();
+        drainingCount -= drainingInRange.cardinality();
+        closedSlots.clear(fromSlot, toSlot + 1);
+
+        int freeBefore = freeSlots.get(fromSlot, toSlot + 1).cardinality();
+        freeSlots.set(fromSlot, toSlot + 1);
+        int occupiedInRange = 0;
+        for (int i = occupiedSlots.nextSetBit(fromSlot); i >= 0 && i <= toSlot; i = occupiedSlots.nextSetBit(i + 1)) {
+            freeSlots.clear(i);
+            occupiedInRange++;
+        }
+        freeCount += (toSlot - fromSlot + 1) - occupiedInRange - freeBefore;
+        if (toSlot > size) {
+            size = toSlot;
+            layoutCounters.setLotSize(size);
+        }
+        layoutCounters.recount(fromSlot, toSlot, freeSlots, occupiedSlots, closedSlots);
+    }
+
+    private void applyClose(int fromSlot, int toSlot) {
+        BitSet closedInRange = closedSlots.get(fromSlot, toSlot + 1);
+        BitSet newlyDraining = occupiedSlots.get(fromSlot, toSlot + 1);
+        newlyDraining.andNot(closedInRange);
+        closedCount += (toSlot - fromSlot + 1) - closedInRange.cardinality();
+        drainingCount += newlyDraining.cardinality();
+        freeCount -= freeSlots.get(fromSlot, toSlot + 1).cardinality();
+        closedSlots.set(fromSlot, toSlot + 1);
+        freeSlots.clear(fromSlot, toSlot + 1);
+        layoutCounters.recount(fromSlot, toSlot, freeSlots, occupiedSlots, closedSlots);
+    }
+
+    /**
+     * Removes closed, empty slots from the end of the lot, so a drained
+     * shrink eventually lowers the lot size.
+     */
+    private void trimClosedTail() {
+        int newSize = size;
+        int lastInUse = Math.max(occupiedSlots.length(), closedSlots.previousClearBit(newSize) + 1) - 1;
+        if (lastInUse < newSize) {
+            newSize = Math.max(lastInUse, 0);
+            closedCount -= size - newSize;
+            closedSlots.clear(newSize + 1, size + 1);
+            layoutCounters.recount(newSize + 1, size, freeSlots, occupiedSlots, closedSlots);
+            layoutCounters.setLotSize(newSize);
+            size = newSize;
+            logger.info("Drained closed slots at the end of the lot; lot size is now {}.", size);
+        }
+    }
+
+    /**
+     * Parks waiting cars, oldest first, while free slots remain. Futures are
+     * completed under the lock, so callbacks attached to them must not block.
+     * A car whose future was cancelled, even while its slot was being assigned,
+     * is dropped before its park is published, so it never holds a slot.
+     */
+    private void handOffFreeSlots() {
+        Iterator<Map.Entry<String, CompletableFuture<SuccessResponse>>> waiting = waitlist.entrySet().iterator();
+        while (waiting.hasNext() && !freeSlots.isEmpty()) {
+            Map.Entry<String, CompletableFuture<SuccessResponse>> head = waiting.next();
+            waiting.remove();
+            String licensePlate = head.getKey();
+            if (head.getValue().isDone()) {
+                logger.info("Skipping car with license plate {} that stopped waiting.", licensePlate);
+                continue;
+            }
+            ParkEvent event = null;
+            if (PARK_EVENT.isEnabled()) {
+                event = new ParkEvent();
+                event.begin();
+            }
+            int slot = freeSlots.nextSetBit(1);
+            long now = System.currentTimeMillis();
+            String message = String.format("Car with license plate %s parked in slot %d.", licensePlate, slot);
+            occupy(slot, licensePlate, now);
+            if (!head.getValue().complete(new SuccessResponse(message))) { // Cancelled after the check above
+                vacate(slot, licensePlate);
+                logger.info("Skipping car with license plate {} that stopped waiting.", licensePlate);
+                continue;
+            }
+            publish(ParkingEvent.Type.PARK, slot, slot, licensePlate, now, now);
+            logger.info("{} (from the waitlist)", message);
+            if (event != null && event.shouldCommit()) {
+                event.plateHash = licensePlate.hashCode();
+                event.slot = slot;
+                event.scanLength = scanLength(slot);
+                event.fromWaitlist = true;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Runs one operation of a batch and maps a failure to the HTTP status its
+     * exception declares, as the single-car endpoint would.
+     */
+    private static BatchItemResult batchItem(String licensePlate, Supplier<SuccessResponse> operation) {
+        try {
+            return new BatchItemResult(licensePlate, 200, operation.get().getMessage());
+        } catch (RuntimeException ex) {
+            ResponseStatus status = ex.getClass().getAnnotation(ResponseStatus.class);
+            return new BatchItemResult(licensePlate, status == null ? 500 : status.code().value(), ex.getMessage());
+        }
+    }
+
+    /**
+     * Returns how many words of the free-slot bit set a search up to the given slot examines.
+     */
+    private static int scanLength(int slot) {
+        return (slot >> 6) + 1;
+    }
+
+    private static void recordRejection(String operation, Class<? extends RuntimeException> reason,
+                                        String licensePlate, int slot, int scanLength) {
+        if (!REJECTED_EVENT.isEnabled()) {
+            return;
+        }
+        ParkingRejectedEvent event = new ParkingRejectedEvent();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.reason = reason.getSimpleName();
+            event.plateHash = licensePlate == null ? 0 : licensePlate.hashCode();
+            event.slot = slot;
+            event.scanLength = scanLength;
+            event.commit();
+        }
+    }
+
+    private synchronized void cancelWaiting(String licensePlate, CompletableFuture<SuccessResponse> future) {
+        if (waitlist.remove(licensePlate, future)) {
+            logger.info("Car with license plate {} stopped waiting for a slot.", licensePlate);
+        }
+    }
+
+    private synchronized void expireWaiting(String licensePlate, CompletableFuture<SuccessResponse> future) {
+        if (waitlist.remove(licensePlate, future)) {
+            logger.warn("Car with license plate {} gave up waiting for a slot.", licensePlate);
+            future.completeExceptionally(new ParkingLotFullException(licensePlate));
+        }
+    }
+
+    private void publish(ParkingEvent.Type type, int fromSlot, int toSlot, String licensePlate,
+                         long parkedAt, long timestamp) {
+        notifyListeners(new ParkingEvent(++sequence, type, fromSlot, toSlot, licensePlate, parkedAt, timestamp));
+    }
+
+    private void notifyListeners(ParkingEvent event) {
+        for (ParkingEventListener listener : listeners) {
+            try {
+                listener.onEvent(event);
+            } catch (RuntimeException ex) {
+                logger.error("Parking event listener {} failed on {}: {}", listener, event, ex.getMessage(), ex);
+            }
+        }
+    }
 }
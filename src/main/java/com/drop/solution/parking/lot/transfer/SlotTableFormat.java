@@ -0,0 +1,364 @@
+package com.drop.solution.parking.lot.transfer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import com.drop.solution.parking.lot.model.Car;
+
+/**
+ * Line formats of an exported slot table.
+ *
+ * Each line describes one parked car by slot, license plate and the epoch
+ * milliseconds at which it parked. Rows are encoded straight into the
+ * caller's buffer and decoded from a single line, so neither direction keeps
+ * more than one row in memory.
+ */
+public enum SlotTableFormat {
+
+    /**
+     * One JSON object per line: {@code {"slot":1,"licensePlate":"UP78BX9207","parkedAt":1700000000000}}.
+     */
+    NDJSON("application/x-ndjson") {
+        @Override
+        void writeHeader(ByteBuffer buffer) {
+        }
+
+        @Override
+        void writeRow(ByteBuffer buffer, int slot, Car car) {
+            putAscii(buffer, "{\"slot\":");
+            putLong(buffer, slot);
+            putAscii(buffer, ",\"licensePlate\":\"");
+            String licensePlate = car.getLicensePlate();
+            for (int i = 0; i < licensePlate.length(); i++) {
+                char c = licensePlate.charAt(i);
+                if (c == '"' || c == '\\') {
+                    buffer.put((byte) '\\').put((byte) c);
+                } else if (c < 0x20) {
+                    putAscii(buffer, String.format("\\u%04x", (int) c));
+                } else if (c < 0x80) {
+                    buffer.put((byte) c);
+                } else {
+                    int codePoint = licensePlate.codePointAt(i);
+                    buffer.put(new String(Character.toChars(codePoint)).getBytes(StandardCharsets.UTF_8));
+                    i += Character.charCount(codePoint) - 1;
+                }
+            }
+            putAscii(buffer, "\",\"parkedAt\":");
+            putLong(buffer, car.getParkedAt());
+            buffer.put((byte) '}').put((byte) '\n');
+        }
+
+        @Override
+        boolean quotesLineBreaks() {
+            return false;
+        }
+
+        @Override
+        boolean isHeader(String line) {
+            return false;
+        }
+
+        @Override
+        Map.Entry<Integer, Car> parseRow(String line) {
+            return new JsonRowParser(line).parse();
+        }
+    },
+
+    /**
+     * Comma-separated values with a {@code slot,licensePlate,parkedAt} header line.
+     * A license plate holding a comma, quote or line break is quoted as in RFC 4180.
+     */
+    CSV("text/csv") {
+        private static final String HEADER = "slot,licensePlate,parkedAt";
+
+        @Override
+        void writeHeader(ByteBuffer buffer) {
+            putAscii(buffer, HEADER);
+            buffer.put((byte) '\n');
+        }
+
+        @Override
+        void writeRow(ByteBuffer buffer, int slot, Car car) {
+            String licensePlate = car.getLicensePlate();
+            putLong(buffer, slot);
+            buffer.put((byte) ',');
+            boolean quoted = licensePlate.indexOf(',') >= 0 || licensePlate.indexOf('"') >= 0
+                    || licensePlate.indexOf('\n') >= 0 || licensePlate.indexOf('\r') >= 0;
+            if (quoted) {
+                buffer.put((byte) '"');
+                buffer.put(licensePlate.replace("\"", "\"\"").getBytes(StandardCharsets.UTF_8));
+                buffer.put((byte) '"');
+            } else {
+                putText(buffer, licensePlate);
+            }
+            buffer.put((byte) ',');
+            putLong(buffer, car.getParkedAt());
+            buffer.put((byte) '\n');
+        }
+
+        @Override
+        boolean quotesLineBreaks() {
+            return true;
+        }
+
+        @Override
+        boolean isHeader(String line) {
+            return line.equals(HEADER);
+        }
+
+        @Override
+        Map.Entry<Integer, Car> parseRow(String line) {
+            int firstComma = line.indexOf(',');
+            int lastComma = line.lastIndexOf(',');
+            if (firstComma < 0 || lastComma == firstComma) {
+                throw new IllegalArgumentException("expected slot,licensePlate,parkedAt");
+            }
+            String licensePlate = line.substring(firstComma + 1, lastComma);
+            if (licensePlate.length() >= 2 && licensePlate.startsWith("\"") && licensePlate.endsWith("\"")) {
+                licensePlate = licensePlate.substring(1, licensePlate.length() - 1).replace("\"\"", "\"");
+            }
+            return row(parseInt(line.substring(0, firstComma)), licensePlate,
+                    parseLong(line.substring(lastComma + 1)));
+        }
+    };
+
+    private final String mediaType;
+
+    SlotTableFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    /**
+     * Returns the media type of this format.
+     *
+     * @return the Content-Type of an exported table
+     */
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    abstract void writeHeader(ByteBuffer buffer);
+
+    /**
+     * Encodes one row at the buffer's position.
+     *
+     * @throws java.nio.BufferOverflowException if the row does not fit; the caller
+     *         resets the buffer, drains it and retries
+     */
+    abstract void writeRow(ByteBuffer buffer, int slot, Car car);
+
+    /**
+     * Returns whether a line break between double quotes belongs to the row
+     * rather than ending it.
+     */
+    abstract boolean quotesLineBreaks();
+
+    abstract boolean isHeader(String line);
+
+    /**
+     * Decodes one row, without its line terminator.
+     *
+     * @throws IllegalArgumentException if the line is malformed
+     */
+    abstract Map.Entry<Integer, Car> parseRow(String line);
+
+    private static Map.Entry<Integer, Car> row(int slot, String licensePlate, long parkedAt) {
+        if (licensePlate == null || licensePlate.isBlank()) {
+            throw new IllegalArgumentException("license plate is missing");
+        }
+        return Map.entry(slot, new Car(licensePlate, parkedAt));
+    }
+
+    private static int parseInt(String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("invalid slot '" + value + "'");
+        }
+    }
+
+    private static long parseLong(String value) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("invalid parkedAt '" + value + "'");
+        }
+    }
+
+    private static void putAscii(ByteBuffer buffer, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            buffer.put((byte) value.charAt(i));
+        }
+    }
+
+    private static void putText(ByteBuffer buffer, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) >= 0x80) {
+                buffer.put(value.getBytes(StandardCharsets.UTF_8)); // Rare; plates are usually ASCII
+                return;
+            }
+        }
+        putAscii(buffer, value);
+    }
+
+    private static void putLong(ByteBuffer buffer, long value) {
+        if (value < 0) {
+            buffer.put((byte) '-');
+            if (value == Long.MIN_VALUE) {
+                putAscii(buffer, "9223372036854775808");
+                return;
+            }
+            value = -value;
+        }
+        long divisor = 1;
+        while (value / divisor >= 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            buffer.put((byte) ('0' + value / divisor % 10));
+        }
+    }
+
+    /**
+     * Reads the slot, licensePlate and parkedAt members of a flat JSON object
+     * and skips any other string, number, boolean or null members.
+     */
+    private static final class JsonRowParser {
+
+        private final String line;
+        private int position;
+
+        private JsonRowParser(String line) {
+            this.line = line;
+        }
+
+        private Map.Entry<Integer, Car> parse() {
+            Integer slot = null;
+            String licensePlate = null;
+            Long parkedAt = null;
+            expect('{');
+            if (peek() == '}') {
+                throw new IllegalArgumentException("slot is missing");
+            }
+            do {
+                String name = readString();
+                expect(':');
+                switch (name) {
+                    case "slot" -> slot = parseInt(readLiteral());
+                    case "licensePlate" -> licensePlate = readString();
+                    case "parkedAt" -> parkedAt = parseLong(readLiteral());
+                    default -> skipValue();
+                }
+            } while (next(',', '}') == ',');
+            skipWhitespace();
+            if (position != line.length()) {
+                throw new IllegalArgumentException("unexpected content after the object");
+            }
+            if (slot == null) {
+                throw new IllegalArgumentException("slot is missing");
+            }
+            if (parkedAt == null) {
+                throw new IllegalArgumentException("parkedAt is missing");
+            }
+            return row(slot, licensePlate, parkedAt);
+        }
+
+        private void skipValue() {
+            if (peek() == '"') {
+                readString();
+            } else {
+                readLiteral();
+            }
+        }
+
+        private String readLiteral() {
+            skipWhitespace();
+            int start = position;
+            while (position < line.length() && ",}".indexOf(line.charAt(position)) < 0
+                    && !Character.isWhitespace(line.charAt(position))) {
+                position++;
+            }
+            if (start == position) {
+                throw new IllegalArgumentException("value expected at column " + (position + 1));
+            }
+            return line.substring(start, position);
+        }
+
+        private String readString() {
+            expect('"');
+            int start = position;
+            int end = line.indexOf('"', start);
+            int escape = line.indexOf('\\', start);
+            if (end >= 0 && (escape < 0 || escape > end)) {
+                position = end + 1;
+                return line.substring(start, end); // No escapes, the common case
+            }
+            StringBuilder value = new StringBuilder();
+            while (position < line.length()) {
+                char c = line.charAt(position++);
+                if (c == '"') {
+                    return value.toString();
+                }
+                if (c != '\\') {
+                    value.append(c);
+                    continue;
+                }
+                if (position >= line.length()) {
+                    break;
+                }
+                char escaped = line.charAt(position++);
+                switch (escaped) {
+                    case 'n' -> value.append('\n');
+                    case 'r' -> value.append('\r');
+                    case 't' -> value.append('\t');
+                    case 'b' -> value.append('\b');
+                    case 'f' -> value.append('\f');
+                    case 'u' -> {
+                        if (position + 4 > line.length()) {
+                            throw new IllegalArgumentException("truncated \\u escape");
+                        }
+                        try {
+                            value.append((char) Integer.parseInt(line.substring(position, position + 4), 16));
+                        } catch (NumberFormatException ex) {
+                            throw new IllegalArgumentException("invalid \\u escape");
+                        }
+                        position += 4;
+                    }
+                    default -> value.append(escaped);
+                }
+            }
+            throw new IllegalArgumentException("unterminated string");
+        }
+
+        private char next(char first, char second) {
+            skipWhitespace();
+            char c = peek();
+            if (c != first && c != second) {
+                throw new IllegalArgumentException(String.format("'%c' or '%c' expected at column %d",
+                        first, second, position + 1));
+            }
+            position++;
+            return c;
+        }
+
+        private void expect(char expected) {
+            skipWhitespace();
+            if (peek() != expected) {
+                throw new IllegalArgumentException(String.format("'%c' expected at column %d", expected, position + 1));
+            }
+            position++;
+        }
+
+        private char peek() {
+            skipWhitespace();
+            return position < line.length() ? line.charAt(position) : '\0';
+        }
+
+        private void skipWhitespace() {
+            while (position < line.length() && Character.isWhitespace(line.charAt(position))) {
+                position++;
+            }
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.drop.solution.parking.lot.transfer;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.drop.solution.parking.lot.exception.AlreadyParkedException;
+import com.drop.solution.parking.lot.exception.BulkImportException;
+import com.drop.solution.parking.lot.exception.InvalidSlotNumberException;
+import com.drop.solution.parking.lot.model.Car;
+import com.drop.solution.parking.lot.service.imp.ParkingServiceImp;
+
+/**
+ * Streams the slot table of the parking engine to and from byte channels.
+ *
+ * Both directions work through one fixed-size buffer. An export walks the
+ * slots in order without copying the lot; an import parses the stream chunk by
+ * chunk and hands every chunk of rows to the engine as a single bulk load.
+ * Memory use therefore depends on the chunk size only, not on the lot size.
+ */
+@Component
+public class SlotTableTransfer {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlotTableTransfer.class);
+    static final int BUFFER_BYTES = 64 * 1024;
+    static final int CHUNK_ROWS = 8192;
+
+    private final ParkingServiceImp parkingService;
+
+    /**
+     * Constructs a SlotTableTransfer for the given engine.
+     *
+     * @param parkingService the engine whose slot table is transferred
+     */
+    public SlotTableTransfer(ParkingServiceImp parkingService) {
+        this.parkingService = parkingService;
+    }
+
+    /**
+     * Writes every parked car, in slot order, to the channel.
+     * The export reads the slots without locking the lot, so cars that park
+     * or leave while it runs may or may not be included.
+     *
+     * @param channel the destination; it is not closed
+     * @param format the line format to write
+     * @return the number of cars written
+     * @throws IOException if writing to the channel fails
+     */
+    public long exportTo(WritableByteChannel channel, SlotTableFormat format) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+        format.writeHeader(buffer);
+        long count = 0;
+        int size = parkingService.getCapacity().getSize();
+        for (int slot = 1; slot <= size; slot++) {
+            Car car = parkingService.getParkedCar(slot);
+            if (car == null) {
+                continue;
+            }
+            int start = buffer.position();
+            try {
+                format.writeRow(buffer, slot, car);
+            } catch (BufferOverflowException ex) {
+                buffer.position(start);
+                drain(channel, buffer);
+                try {
+                    format.writeRow(buffer, slot, car);
+                } catch (BufferOverflowException tooLong) {
+                    throw new IOException("Row for slot " + slot + " exceeds " + BUFFER_BYTES + " bytes.");
+                }
+            }
+            count++;
+        }
+        drain(channel, buffer);
+        logger.info("Exported {} parked cars as {}.", count, format);
+        return count;
+    }
+
+    /**
+     * Reads a slot table from the channel and loads it into the engine.
+     * Each chunk of rows is loaded atomically; when a row is malformed or
+     * conflicts with the lot, the import stops and the chunks loaded before
+     * it remain in place.
+     *
+     * @param channel the source; it is read to the end but not closed
+     * @param format the line format to read
+     * @return the number of cars loaded
+     * @throws IOException if reading from the channel fails
+     * @throws BulkImportException if a row is malformed or conflicts with the lot
+     */
+    public long importFrom(ReadableByteChannel channel, SlotTableFormat format) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+        byte[] bytes = buffer.array();
+        Map<Integer, Car> chunk = new LinkedHashMap<>(CHUNK_ROWS * 2);
+        long imported = 0;
+        long lineNumber = 0;
+        boolean endOfStream = false;
+        while (!endOfStream) {
+            endOfStream = channel.read(buffer) < 0;
+            buffer.flip();
+            int lineStart = buffer.position();
+            boolean quoted = false; // The partial line is rescanned from its start after every read
+            for (int i = lineStart; i < buffer.limit(); i++) {
+                if (bytes[i] == '"' && format.quotesLineBreaks()) {
+                    quoted = !quoted;
+                } else if (bytes[i] == '\n' && !quoted) {
+                    lineNumber++;
+                    parseLine(format, bytes, lineStart, i, lineNumber, chunk);
+                    lineStart = i + 1;
+                    if (chunk.size() >= CHUNK_ROWS) {
+                        imported += load(chunk, lineNumber, imported);
+                    }
+                }
+            }
+            if (endOfStream && lineStart < buffer.limit()) {
+                lineNumber++;
+                parseLine(format, bytes, lineStart, buffer.limit(), lineNumber, chunk);
+                lineStart = buffer.limit();
+            }
+            buffer.position(lineStart);
+            buffer.compact();
+            if (!endOfStream && !buffer.hasRemaining()) {
+                throw new BulkImportException(String.format("Line %d exceeds %d bytes.", lineNumber + 1, BUFFER_BYTES));
+            }
+        }
+        imported += load(chunk, lineNumber, imported);
+        logger.info("Imported {} parked cars from {} lines of {}.", imported, lineNumber, format);
+        return imported;
+    }
+
+    private static void parseLine(SlotTableFormat format, byte[] bytes, int from, int to, long lineNumber,
+                                  Map<Integer, Car> chunk) {
+        int end = to > from && bytes[to - 1] == '\r' ? to - 1 : to;
+        if (end == from) {
+            return;
+        }
+        String line = new String(bytes, from, end - from, StandardCharsets.UTF_8);
+        if (line.isBlank() || format.isHeader(line)) {
+            return;
+        }
+        Map.Entry<Integer, Car> row;
+        try {
+            row = format.parseRow(line);
+        } catch (IllegalArgumentException ex) {
+            throw new BulkImportException(String.format("Line %d: %s.", lineNumber, ex.getMessage()));
+        }
+        if (chunk.putIfAbsent(row.getKey(), row.getValue()) != null) {
+            throw new BulkImportException(String.format("Line %d: slot %d appears more than once.",
+                    lineNumber, row.getKey()));
+        }
+    }
+
+    private int load(Map<Integer, Car> chunk, long lineNumber, long imported) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        try {
+            int loaded = parkingService.importCars(chunk);
+            chunk.clear();
+            return loaded;
+        } catch (InvalidSlotNumberException | AlreadyParkedException ex) {
+            throw new BulkImportException(String.format("Rows up to line %d were rejected after %d cars were imported: %s",
+                    lineNumber, imported, ex.getMessage()));
+        }
+    }
+
+    private static void drain(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
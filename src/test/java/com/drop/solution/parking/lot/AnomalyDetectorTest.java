@@ -0,0 +1,98 @@
+package com.drop.solution.parking.lot;
+
+import com.drop.solution.parking.lot.analytics.AnomalyDetector;
+import com.drop.solution.parking.lot.model.Car;
+import com.drop.solution.parking.lot.model.LotSnapshot;
+import com.drop.solution.parking.lot.model.ParkingAlert;
+import com.drop.solution.parking.lot.model.ParkingEvent;
+import com.drop.solution.parking.lot.service.imp.ParkingServiceImp;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AnomalyDetectorTest {
+
+    private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+
+    @Test
+    void testOverstayIsReportedOnceAndOnlyForCarsStillParked() {
+        AnomalyDetector detector = new AnomalyDetector(60, 60, 10, 100, 1000, 30);
+        ParkingServiceImp parkingService = new ParkingServiceImp(3, List.of(detector));
+        parkingService.parkCar("UP78BX9207");
+        parkingService.parkCar("UP78BX9208");
+        parkingService.unparkCar("UP78BX9208");
+        long now = System.currentTimeMillis();
+
+        assertEquals(0, detector.check(now + 59 * MINUTE));
+        assertEquals(1, detector.check(now + 61 * MINUTE));
+        assertEquals(0, detector.check(now + 120 * MINUTE));
+
+        List<ParkingAlert> alerts = detector.getAlerts(10);
+        assertEquals(1, alerts.size());
+        assertEquals(ParkingAlert.Type.OVERSTAY, alerts.get(0).getType());
+        assertEquals("UP78BX9207", alerts.get(0).getLicensePlate());
+        assertEquals(1, alerts.get(0).getSlot());
+    }
+
+    @Test
+    void testFrequentParkingWithinSlidingWindow() {
+        AnomalyDetector detector = new AnomalyDetector(1440, 60, 2, 100, 1000, 30);
+        long start = System.currentTimeMillis();
+        long sequence = 0;
+        for (int i = 0; i < 3; i++) {
+            long at = start + i * 40 * MINUTE; // The first park leaves the window before the third
+            detector.onEvent(new ParkingEvent(++sequence, ParkingEvent.Type.PARK, 1, 1, "UP78BX9207", at, at));
+            detector.onEvent(new ParkingEvent(++sequence, ParkingEvent.Type.UNPARK, 1, 1, "UP78BX9207", at, at + MINUTE));
+        }
+        assertEquals(0, detector.getAlerts(10).size());
+
+        long at = start + 90 * MINUTE;
+        detector.onEvent(new ParkingEvent(++sequence, ParkingEvent.Type.PARK, 2, 2, "UP78BX9207", at, at));
+
+        List<ParkingAlert> alerts = detector.getAlerts(10);
+        assertEquals(1, alerts.size());
+        assertEquals(ParkingAlert.Type.FREQUENT_PARKING, alerts.get(0).getType());
+        assertEquals(2, alerts.get(0).getSlot());
+    }
+
+    @Test
+    void testResetTracksRestoredCarsAndAlertsAreBounded() {
+        AnomalyDetector detector = new AnomalyDetector(60, 60, 10, 2, 1000, 30);
+        long parkedAt = System.currentTimeMillis() - 120 * MINUTE;
+        detector.onReset(new LotSnapshot(1, 3, 3, Map.of(
+                1, new Car("UP78BX9207", parkedAt),
+                2, new Car("UP78BX9208", parkedAt + 1),
+                3, new Car("UP78BX9209", parkedAt + 2)), new BitSet()));
+
+        assertEquals(3, detector.check(System.currentTimeMillis()));
+
+        List<ParkingAlert> alerts = detector.getAlerts(10);
+        assertEquals(2, alerts.size());
+        assertEquals("UP78BX9209", alerts.get(1).getLicensePlate());
+        assertEquals(1, detector.getAlerts(1).size());
+    }
+
+    @Test
+    void testWindowIsBoundedByMaxEntries() {
+        AnomalyDetector detector = new AnomalyDetector(1440, 60, 2, 100, 3, 30);
+        long at = System.currentTimeMillis();
+        long sequence = 0;
+        detector.onEvent(new ParkingEvent(++sequence, ParkingEvent.Type.PARK, 1, 1, "UP78BX9207", at, at));
+        detector.onEvent(new ParkingEvent(++sequence, ParkingEvent.Type.PARK, 2, 2, "UP78BX9207", at, at));
+        detector.onEvent(new ParkingEvent(++sequence, ParkingEvent.Type.PARK, 3, 3, "UP78BX9208", at, at));
+        detector.onEvent(new ParkingEvent(++sequence, ParkingEvent.Type.PARK, 4, 4, "UP78BX9209", at, at));
+        detector.onEvent(new ParkingEvent(++sequence, ParkingEvent.Type.PARK, 5, 5, "UP78BX9207", at, at));
+        assertEquals(0, detector.getAlerts(10).size()); // The first park was dropped to stay within three entries
+
+        detector.onEvent(new ParkingEvent(++sequence, ParkingEvent.Type.PARK, 6, 6, "UP78BX9207", at, at));
+        assertEquals(0, detector.getAlerts(10).size());
+
+        detector.onEvent(new ParkingEvent(++sequence, ParkingEvent.Type.PARK, 7, 7, "UP78BX9207", at, at));
+        assertEquals(1, detector.getAlerts(10).size());
+    }
+}
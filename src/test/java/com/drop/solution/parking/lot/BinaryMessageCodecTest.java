@@ -0,0 +1,128 @@
+package com.drop.solution.parking.lot;
+
+import com.drop.solution.parking.lot.codec.BinaryMessageCodec;
+import com.drop.solution.parking.lot.codec.BinaryMessageConverter;
+import com.drop.solution.parking.lot.controller.ParkingController;
+import com.drop.solution.parking.lot.model.CarDetailsRequest;
+import com.drop.solution.parking.lot.model.ErrorDetails;
+import com.drop.solution.parking.lot.model.SuccessResponse;
+import com.drop.solution.parking.lot.service.ParkingService;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class BinaryMessageCodecTest {
+
+    @Test
+    void testSuccessResponseRoundTrip() {
+        SuccessResponse response = new SuccessResponse("Car with license plate UP78BX9207 parked in slot 1.");
+
+        SuccessResponse decoded = BinaryMessageCodec.decode(SuccessResponse.class, BinaryMessageCodec.encode(response));
+
+        assertEquals(response.getMessage(), decoded.getMessage());
+    }
+
+    @Test
+    void testErrorDetailsRoundTrip() {
+        ErrorDetails error = new ErrorDetails(LocalDateTime.of(2024, 10, 1, 8, 30, 15, 123_000_000),
+                "Car with license plate UP78BX9207 not found.", 404, "uri=/api/parking/unpark");
+
+        ErrorDetails decoded = BinaryMessageCodec.decode(ErrorDetails.class, BinaryMessageCodec.encode(error));
+
+        assertEquals(error.toString(), decoded.toString());
+    }
+
+    @Test
+    void testNullFieldsRoundTrip() {
+        ErrorDetails error = new ErrorDetails(null, null, 500, "");
+
+        ErrorDetails decoded = BinaryMessageCodec.decode(ErrorDetails.class, BinaryMessageCodec.encode(error));
+
+        assertNull(decoded.getTimeStamp());
+        assertNull(decoded.getMessage());
+        assertEquals("", decoded.getDetails());
+    }
+
+    @Test
+    void testCarDetailsRequestRoundTrip() {
+        CarDetailsRequest request = new CarDetailsRequest();
+        request.setLicensePlate("UP78BX9207");
+
+        CarDetailsRequest decoded = BinaryMessageCodec.decode(CarDetailsRequest.class, BinaryMessageCodec.encode(request));
+
+        assertEquals(request, decoded);
+    }
+
+    @Test
+    void testTruncatedMessageIsRejected() {
+        byte[] encoded = BinaryMessageCodec.encode(new SuccessResponse("Slot 1 is empty."));
+        byte[] truncated = Arrays.copyOf(encoded, encoded.length - 3);
+
+        assertThrows(IllegalArgumentException.class, () -> BinaryMessageCodec.decode(SuccessResponse.class, truncated));
+    }
+
+    @Test
+    void testMalformedStringLengthIsRejected() {
+        // Lengths of 2^33 - 1 bytes and of a varint with the sign bit set, with a single byte behind them
+        byte[] oversized = {2, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x20, 'A'};
+        byte[] negative = {2, -1, -1, -1, -1, -1, -1, -1, -1, -1, 0x01, 'A'};
+
+        assertThrows(IllegalArgumentException.class, () -> BinaryMessageCodec.decode(SuccessResponse.class, oversized));
+        assertThrows(IllegalArgumentException.class, () -> BinaryMessageCodec.decode(SuccessResponse.class, negative));
+    }
+
+    @Test
+    void testMalformedRequestIsBadRequest() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new ParkingController(mock(ParkingService.class), null, null))
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(), new BinaryMessageConverter())
+                .build();
+
+        mockMvc.perform(post("/api/parking/park")
+                .contentType(BinaryMessageConverter.BINARY)
+                .content(new byte[] {1, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x20, 'A'}))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testMismatchedTypeIsRejected() {
+        byte[] encoded = BinaryMessageCodec.encode(new SuccessResponse("Slot 1 is empty."));
+
+        assertThrows(IllegalArgumentException.class, () -> BinaryMessageCodec.decode(ErrorDetails.class, encoded));
+    }
+
+    @Test
+    void testParkCarOverBinaryFormat() throws Exception {
+        ParkingService parkingService = mock(ParkingService.class);
+        when(parkingService.parkCar("UP78BX9207")).thenReturn(new SuccessResponse("Car parked successfully."));
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new ParkingController(parkingService, null, null))
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(), new BinaryMessageConverter())
+                .build();
+        CarDetailsRequest request = new CarDetailsRequest();
+        request.setLicensePlate("UP78BX9207");
+
+        MvcResult result = mockMvc.perform(post("/api/parking/park")
+                .contentType(BinaryMessageConverter.BINARY)
+                .accept(BinaryMessageConverter.BINARY)
+                .content(BinaryMessageCodec.encode(request)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(BinaryMessageConverter.BINARY))
+                .andReturn();
+
+        SuccessResponse response = BinaryMessageCodec.decode(SuccessResponse.class, result.getResponse().getContentAsByteArray());
+        assertEquals("Car parked successfully.", response.getMessage());
+    }
+}
@@ -0,0 +1,135 @@
+package com.drop.solution.parking.lot;
+
+import com.drop.solution.parking.lot.cache.IdempotencyCache;
+import com.drop.solution.parking.lot.exception.IdempotencyKeyReuseException;
+import com.drop.solution.parking.lot.exception.ParkingLotFullException;
+import com.drop.solution.parking.lot.model.SuccessResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IdempotencyCacheTest {
+
+    @Test
+    void testReplaysStoredOutcome() {
+        IdempotencyCache cache = new IdempotencyCache(10, 600);
+        AtomicInteger calls = new AtomicInteger();
+
+        SuccessResponse first = cache.execute("park", "key-1", "UP78BX9207",
+                () -> new SuccessResponse("parked " + calls.incrementAndGet()));
+        SuccessResponse second = cache.execute("park", "key-1", "UP78BX9207",
+                () -> new SuccessResponse("parked " + calls.incrementAndGet()));
+
+        assertSame(first, second);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testKeysAreScopedPerOperation() {
+        IdempotencyCache cache = new IdempotencyCache(10, 600);
+        AtomicInteger calls = new AtomicInteger();
+
+        cache.execute("park", "key-1", "UP78BX9207", () -> new SuccessResponse("" + calls.incrementAndGet()));
+        cache.execute("unpark", "key-1", "UP78BX9207", () -> new SuccessResponse("" + calls.incrementAndGet()));
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void testFailedOutcomeIsNotRetained() {
+        IdempotencyCache cache = new IdempotencyCache(10, 600);
+
+        assertThrows(ParkingLotFullException.class, () -> cache.execute("park", "key-1", "UP78BX9207", () -> {
+            throw new ParkingLotFullException("UP78BX9207");
+        }));
+        SuccessResponse response = cache.execute("park", "key-1", "UP78BX9207",
+                () -> new SuccessResponse("parked"));
+
+        assertEquals("parked", response.getMessage());
+    }
+
+    @Test
+    void testKeyReuseForAnotherPlateIsRejected() {
+        IdempotencyCache cache = new IdempotencyCache(10, 600);
+        cache.execute("park", "key-1", "UP78BX9207", () -> new SuccessResponse("parked"));
+
+        Exception exception = assertThrows(IdempotencyKeyReuseException.class, () ->
+                cache.execute("park", "key-1", "UP78BX9288", () -> new SuccessResponse("parked")));
+        assertEquals("Idempotency key key-1 was already used for license plate UP78BX9207.", exception.getMessage());
+    }
+
+    @Test
+    void testCacheIsBounded() {
+        IdempotencyCache cache = new IdempotencyCache(3, 600);
+        for (int i = 0; i < 10; i++) {
+            cache.execute("park", "key-" + i, "UP78BX" + i, () -> new SuccessResponse("parked"));
+        }
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    void testExpiredOutcomeIsNotReplayed() {
+        IdempotencyCache cache = new IdempotencyCache(10, 0);
+        AtomicInteger calls = new AtomicInteger();
+
+        cache.execute("park", "key-1", "UP78BX9207", () -> new SuccessResponse("" + calls.incrementAndGet()));
+        cache.execute("park", "key-1", "UP78BX9207", () -> new SuccessResponse("" + calls.incrementAndGet()));
+
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void testFailuresDoNotEvictSuccessfulOutcomes() {
+        IdempotencyCache cache = new IdempotencyCache(2, 600);
+        AtomicInteger calls = new AtomicInteger();
+        SuccessResponse parked = cache.execute("park", "key-1", "UP78BX9207",
+                () -> new SuccessResponse("parked " + calls.incrementAndGet()));
+        for (int i = 0; i < 5; i++) {
+            String licensePlate = "UP16BX" + i;
+            assertThrows(ParkingLotFullException.class, () -> cache.execute("park", "full-" + licensePlate, licensePlate, () -> {
+                throw new ParkingLotFullException(licensePlate);
+            }));
+        }
+
+        assertEquals(1, cache.size());
+        assertSame(parked, cache.execute("park", "key-1", "UP78BX9207",
+                () -> new SuccessResponse("parked " + calls.incrementAndGet())));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testInFlightOutcomeIsNotEvicted() throws Exception {
+        IdempotencyCache cache = new IdempotencyCache(1, 600);
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<SuccessResponse> original = CompletableFuture.supplyAsync(() ->
+                cache.execute("park", "slow", "UP78BX9207", () -> {
+                    calls.incrementAndGet();
+                    running.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return new SuccessResponse("parked");
+                }));
+        running.await();
+
+        cache.execute("park", "fast", "UP78BX9288", () -> new SuccessResponse("parked")); // Over the bound
+        CompletableFuture<SuccessResponse> retry = CompletableFuture.supplyAsync(() ->
+                cache.execute("park", "slow", "UP78BX9207", () -> new SuccessResponse("parked " + calls.incrementAndGet())));
+        release.countDown();
+
+        assertSame(original.get(5, TimeUnit.SECONDS), retry.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+        assertEquals(1, cache.size());
+    }
+}
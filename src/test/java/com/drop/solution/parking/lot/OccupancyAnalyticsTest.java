@@ -0,0 +1,77 @@
+package com.drop.solution.parking.lot;
+
+import com.drop.solution.parking.lot.analytics.OccupancyAnalytics;
+import com.drop.solution.parking.lot.model.DwellTimeSummary;
+import com.drop.solution.parking.lot.model.OccupancySample;
+import com.drop.solution.parking.lot.model.ParkingEvent;
+import com.drop.solution.parking.lot.service.imp.ParkingServiceImp;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OccupancyAnalyticsTest {
+
+    @Test
+    void testOccupancyFollowsParkAndUnpark() {
+        OccupancyAnalytics analytics = new OccupancyAnalytics();
+        ParkingServiceImp parkingService = new ParkingServiceImp(3, List.of(analytics));
+
+        parkingService.parkCar("UP78BX9207");
+        parkingService.parkCar("UP78BX9208");
+        parkingService.unparkCar("UP78BX9207");
+
+        assertEquals(1, analytics.getOccupancy());
+        List<OccupancySample> samples = analytics.getOccupancy(OccupancyAnalytics.Resolution.MINUTE, 1);
+        OccupancySample current = samples.get(0);
+        assertEquals(0, current.getMinOccupancy());
+        assertEquals(2, current.getMaxOccupancy());
+        assertEquals(1, current.getLastOccupancy());
+        assertEquals(2, current.getParks());
+        assertEquals(1, current.getUnparks());
+    }
+
+    @Test
+    void testIntervalsWithoutEventsCarryOccupancy() {
+        OccupancyAnalytics analytics = new OccupancyAnalytics();
+        long now = System.currentTimeMillis();
+        long earlier = now - TimeUnit.MINUTES.toMillis(3);
+        analytics.onEvent(new ParkingEvent(1, ParkingEvent.Type.PARK, 1, 1, "UP78BX9207", earlier, earlier));
+
+        List<OccupancySample> samples = analytics.getOccupancy(OccupancyAnalytics.Resolution.MINUTE, 5);
+
+        assertEquals(5, samples.size());
+        assertEquals(0, samples.get(0).getLastOccupancy());
+        assertEquals(1, samples.get(1).getParks());
+        assertEquals(1, samples.get(4).getLastOccupancy());
+        assertEquals(0, samples.get(4).getParks());
+    }
+
+    @Test
+    void testDwellTimePercentiles() {
+        OccupancyAnalytics analytics = new OccupancyAnalytics();
+        long now = System.currentTimeMillis();
+        for (int i = 1; i <= 1000; i++) {
+            long parkedAt = now - TimeUnit.SECONDS.toMillis(i);
+            analytics.onEvent(new ParkingEvent(2L * i - 1, ParkingEvent.Type.PARK, 1, 1, "CAR" + i, parkedAt, parkedAt));
+            analytics.onEvent(new ParkingEvent(2L * i, ParkingEvent.Type.UNPARK, 1, 1, "CAR" + i, parkedAt, now));
+        }
+
+        DwellTimeSummary summary = analytics.getDwellTimes(List.of(50.0, 99.0, 99.9));
+
+        assertEquals(1000, summary.getCount());
+        assertEquals(1000, summary.getMinMillis());
+        assertEquals(1_000_000, summary.getMaxMillis());
+        assertEquals(500_500, summary.getMeanMillis(), 0.001);
+        assertWithinOnePercent(500_000, summary.getPercentileMillis().get("p50"));
+        assertWithinOnePercent(990_000, summary.getPercentileMillis().get("p99"));
+        assertWithinOnePercent(999_000, summary.getPercentileMillis().get("p99.9"));
+    }
+
+    private static void assertWithinOnePercent(long expected, long actual) {
+        assertTrue(Math.abs(actual - expected) <= expected / 100, "expected ~" + expected + " but was " + actual);
+    }
+}
@@ -0,0 +1,57 @@
+package com.drop.solution.parking.lot;
+
+import com.drop.solution.parking.lot.client.ParkingClient;
+import com.drop.solution.parking.lot.client.ParkingClientException;
+import com.drop.solution.parking.lot.model.SuccessResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+/**
+ * Runs the client against the shipped rate limiter settings of 5 calls per 60 seconds.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "parking.lot.size=20")
+class ParkingClientRateLimitTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void testBatchesLargerThanTheRateLimitAreSplit() {
+        try (ParkingClient client = new ParkingClient(URI.create("http://localhost:" + port), "user", "pass@1234",
+                100, Duration.ofMillis(50), 0, Duration.ofMillis(10))) {
+            List<CompletableFuture<SuccessResponse>> parked = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                parked.add(client.park("LIMIT" + i));
+            }
+
+            int succeeded = 0;
+            int limited = 0;
+            for (CompletableFuture<SuccessResponse> future : parked) {
+                try {
+                    future.orTimeout(10, TimeUnit.SECONDS).join();
+                    succeeded++;
+                } catch (CompletionException ex) {
+                    assertEquals(429, assertInstanceOf(ParkingClientException.class, ex.getCause()).getStatusCode());
+                    limited++;
+                }
+            }
+            // The batch of 10 is rejected as too large, then split into two batches of 5;
+            // the first takes all 5 permits of the period
+            assertEquals(5, succeeded);
+            assertEquals(5, limited);
+            assertEquals(3, client.getRequestsSent());
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.drop.solution.parking.lot;
+
+import com.drop.solution.parking.lot.client.ParkingClient;
+import com.drop.solution.parking.lot.client.ParkingClientException;
+import com.drop.solution.parking.lot.model.SlotInfo;
+import com.drop.solution.parking.lot.model.SuccessResponse;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "parking.lot.size=200",
+        "resilience4j.ratelimiter.instances.apiRateLimiter.limitForPeriod=1000"
+})
+class ParkingClientTest {
+
+    @LocalServerPort
+    private int port;
+
+    private ParkingClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = new ParkingClient(URI.create("http://localhost:" + port), "user", "pass@1234",
+                100, Duration.ofMillis(20), 5, Duration.ofMillis(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+    }
+
+    @Test
+    void testConcurrentParksAreBatched() {
+        List<CompletableFuture<SuccessResponse>> parked = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            parked.add(client.park("BATCH" + i));
+        }
+
+        Set<String> messages = new HashSet<>();
+        parked.forEach(future -> messages.add(future.orTimeout(10, TimeUnit.SECONDS).join().getMessage()));
+        assertEquals(50, messages.size());
+        assertTrue(client.getRequestsSent() < 10, "Sent " + client.getRequestsSent() + " requests for 50 cars");
+
+        List<SlotInfo> occupied = client.getOccupiedSlots().join();
+        assertTrue(occupied.stream().filter(slot -> slot.getLicensePlate().startsWith("BATCH")).count() == 50);
+
+        List<CompletableFuture<SuccessResponse>> unparked = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            unparked.add(client.unpark("BATCH" + i));
+        }
+        unparked.forEach(future -> assertTrue(future.join().getMessage().startsWith("Car with license plate BATCH")));
+    }
+
+    @Test
+    void testFailuresAreReportedPerCar() {
+        CompletableFuture<SuccessResponse> first = client.park("DUPLICATE1");
+        CompletableFuture<SuccessResponse> second = client.park("DUPLICATE1");
+        CompletableFuture<SuccessResponse> missing = client.unpark("NOT-PARKED");
+
+        assertEquals("Car with license plate DUPLICATE1 parked in slot",
+                first.join().getMessage().replaceAll(" \\d+\\.$", ""));
+        CompletionException duplicate = assertThrows(CompletionException.class, second::join);
+        assertEquals(400, assertInstanceOf(ParkingClientException.class, duplicate.getCause()).getStatusCode());
+        CompletionException notFound = assertThrows(CompletionException.class, missing::join);
+        assertEquals(404, assertInstanceOf(ParkingClientException.class, notFound.getCause()).getStatusCode());
+
+        client.unpark("DUPLICATE1").join();
+    }
+
+    @Test
+    void testSlotInfo() {
+        assertTrue(client.getSlotInfo(200).join().getMessage().startsWith("Slot 200 is"));
+        CompletionException invalid = assertThrows(CompletionException.class, () -> client.getSlotInfo(201).join());
+        assertEquals(400, assertInstanceOf(ParkingClientException.class, invalid.getCause()).getStatusCode());
+    }
+
+    @Test
+    void testRateLimitedRequestsAreRetried() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        HttpServer server = stub(path -> attempts.incrementAndGet() < 3
+                ? new Reply(429, "{\"message\":\"Too many requests. Please try again later.\"}")
+                : new Reply(200, "{\"message\":\"Slot 1 is empty.\"}"));
+        try (ParkingClient stubClient = stubClient(server, 5)) {
+            assertEquals("Slot 1 is empty.", stubClient.getSlotInfo(1).get(5, TimeUnit.SECONDS).getMessage());
+            assertEquals(3, attempts.get());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void testRetriesGiveUpWith429() throws Exception {
+        HttpServer server = stub(path -> new Reply(429, "{\"message\":\"Too many requests. Please try again later.\"}"));
+        try (ParkingClient stubClient = stubClient(server, 2)) {
+            CompletionException limited = assertThrows(CompletionException.class, () -> stubClient.getSlotInfo(1).join());
+            assertEquals(429, assertInstanceOf(ParkingClientException.class, limited.getCause()).getStatusCode());
+            assertEquals(3, stubClient.getRequestsSent());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void testFallsBackToSingleRequestsWithoutBatchEndpoint() throws Exception {
+        HttpServer server = stub(path -> path.endsWith("/batch")
+                ? new Reply(404, "{\"message\":\"Not Found\"}")
+                : new Reply(200, "{\"message\":\"Car parked.\"}"));
+        try (ParkingClient stubClient = stubClient(server, 0)) {
+            CompletableFuture<SuccessResponse> first = stubClient.park("A");
+            CompletableFuture<SuccessResponse> second = stubClient.park("B");
+
+            assertEquals("Car parked.", first.get(5, TimeUnit.SECONDS).getMessage());
+            assertEquals("Car parked.", second.get(5, TimeUnit.SECONDS).getMessage());
+            assertEquals(3, stubClient.getRequestsSent());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    private record Reply(int status, String body) {
+    }
+
+    private interface Responder {
+        Reply reply(String path);
+    }
+
+    private static HttpServer stub(Responder responder) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            Reply reply = responder.reply(exchange.getRequestURI().getPath());
+            byte[] body = reply.body().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(reply.status(), body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        return server;
+    }
+
+    private static ParkingClient stubClient(HttpServer server, int maxRetries) {
+        return new ParkingClient(URI.create("http://localhost:" + server.getAddress().getPort()), "user", "pass@1234",
+                10, Duration.ofMillis(20), maxRetries, Duration.ofMillis(5));
+    }
+}
@@ -1,22 +1,46 @@
 package com.drop.solution.parking.lot;
 
 
+import com.drop.solution.parking.lot.cache.IdempotencyCache;
 import com.drop.solution.parking.lot.controller.ParkingController;
+import com.drop.solution.parking.lot.exception.handler.CustomizedResponseEntityExceptionHandler;
+import com.drop.solution.parking.lot.model.Availability;
+import com.drop.solution.parking.lot.model.BatchItemResult;
 import com.drop.solution.parking.lot.model.CarDetailsRequest;
 import com.drop.solution.parking.lot.model.SuccessResponse;
 import com.drop.solution.parking.lot.service.ParkingService;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockAsyncContext;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 
@@ -27,6 +51,16 @@ class ParkingControllerTest {
     @Mock
     private ParkingService parkingService;
 
+    @Spy
+    private IdempotencyCache idempotencyCache = new IdempotencyCache(100, 600);
+
+    @Spy
+    private RateLimiterRegistry rateLimiterRegistry = RateLimiterRegistry.of(RateLimiterConfig.custom()
+            .limitForPeriod(3)
+            .limitRefreshPeriod(Duration.ofMinutes(1))
+            .timeoutDuration(Duration.ZERO)
+            .build());
+
     @InjectMocks
     private ParkingController parkingController;
 
@@ -77,4 +111,165 @@ class ParkingControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.message").value("Car unparked successfully."));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testParkCarReplaysOutcomeForSameIdempotencyKey() throws Exception {
+        SuccessResponse successResponse = new SuccessResponse("Car parked successfully.");
+
+        when(parkingService.parkCar("UP78BX9207")).thenReturn(successResponse);
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            mockMvc.perform(post("/api/parking/park")
+                    .header("Idempotency-Key", "gate-1-0001")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"licensePlate\": \"UP78BX9207\"}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.message").value("Car parked successfully."));
+        }
+        verify(parkingService, times(1)).parkCar("UP78BX9207");
+    }
+
+    @Test
+    void testUnparkCarReplaysOutcomeForSameIdempotencyKey() throws Exception {
+        String licensePlate = "UP78BX9207";
+        SuccessResponse successResponse = new SuccessResponse("Car unparked successfully.");
+
+        when(parkingService.unparkCar(licensePlate)).thenReturn(successResponse);
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            mockMvc.perform(delete("/api/parking/unpark")
+                    .header("Idempotency-Key", "gate-1-0002")
+                    .param("licensePlate", licensePlate))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.message").value("Car unparked successfully."));
+        }
+        verify(parkingService, times(1)).unparkCar(licensePlate);
+    }
+
+    @Test
+    void testParkCarWaitsForFreedSlot() throws Exception {
+        CompletableFuture<SuccessResponse> slotHandOff = new CompletableFuture<>();
+
+        when(parkingService.parkCarOrWait("UP78BX9207")).thenReturn(slotHandOff);
+
+        MvcResult pending = mockMvc.perform(post("/api/parking/park")
+                .param("wait", "true")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"licensePlate\": \"UP78BX9207\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        slotHandOff.complete(new SuccessResponse("Car parked successfully."));
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Car parked successfully."));
+    }
+
+    @Test
+    void testDisconnectedWaiterIsCancelled() throws Exception {
+        CompletableFuture<SuccessResponse> slotHandOff = new CompletableFuture<>();
+        when(parkingService.parkCarOrWait("UP78BX9207")).thenReturn(slotHandOff);
+
+        MvcResult pending = mockMvc.perform(post("/api/parking/park")
+                .param("wait", "true")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"licensePlate\": \"UP78BX9207\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MockAsyncContext asyncContext = (MockAsyncContext) pending.getRequest().getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onError(new AsyncEvent(asyncContext, new IOException("Broken pipe")));
+        }
+
+        assertTrue(slotHandOff.isCancelled());
+    }
+
+    @Test
+    void testWaitingParkTakesAPermit() throws Exception {
+        mockMvc = MockMvcBuilders.standaloneSetup(parkingController)
+                .setControllerAdvice(new CustomizedResponseEntityExceptionHandler())
+                .build();
+        when(parkingService.parkCarOrWait(any())).thenReturn(
+                CompletableFuture.completedFuture(new SuccessResponse("Car parked successfully.")));
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/api/parking/park")
+                    .param("wait", "true")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"licensePlate\": \"UP78BX920" + i + "\"}"))
+                    .andExpect(request().asyncStarted());
+        }
+        mockMvc.perform(post("/api/parking/park")
+                .param("wait", "true")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"licensePlate\": \"UP78BX9209\"}"))
+                .andExpect(status().isTooManyRequests());
+        verify(parkingService, times(3)).parkCarOrWait(any());
+    }
+
+    @Test
+    void testParkCarsInBatch() throws Exception {
+        when(parkingService.parkCars(List.of("UP78BX9207", "UP78BX9288"))).thenReturn(List.of(
+                new BatchItemResult("UP78BX9207", 200, "Car parked successfully."),
+                new BatchItemResult("UP78BX9288", 409, "UP78BX9288")));
+
+        mockMvc.perform(post("/api/parking/park/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"licensePlates\": [\"UP78BX9207\", \"UP78BX9288\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(200))
+                .andExpect(jsonPath("$[1].status").value(409));
+    }
+
+    @Test
+    void testBatchTakesOnePermitPerCar() throws Exception {
+        mockMvc = MockMvcBuilders.standaloneSetup(parkingController)
+                .setControllerAdvice(new CustomizedResponseEntityExceptionHandler())
+                .build();
+        when(parkingService.unparkCars(List.of("UP78BX9207", "UP78BX9288"))).thenReturn(List.of(
+                new BatchItemResult("UP78BX9207", 200, "Car removed."),
+                new BatchItemResult("UP78BX9288", 200, "Car removed.")));
+
+        mockMvc.perform(post("/api/parking/unpark/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"licensePlates\": [\"UP78BX9207\", \"UP78BX9288\"]}"))
+                .andExpect(status().isOk());
+        assertEquals(1, rateLimiterRegistry.rateLimiter("apiRateLimiter").getMetrics().getAvailablePermissions());
+
+        // Two more cars exceed the three permits of the period
+        mockMvc.perform(post("/api/parking/park/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"licensePlates\": [\"UP78BX9301\", \"UP78BX9302\"]}"))
+                .andExpect(status().isTooManyRequests());
+        verify(parkingService, never()).parkCars(any());
+
+        // Four cars can never pass a limit of three per period
+        mockMvc.perform(post("/api/parking/park/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"licensePlates\": [\"UP78BX9301\", \"UP78BX9302\", \"UP78BX9303\", \"UP78BX9304\"]}"))
+                .andExpect(status().isPayloadTooLarge());
+        verify(parkingService, never()).parkCars(any());
+    }
+
+    @Test
+    void testParkCarOnPreferredLevel() throws Exception {
+        when(parkingService.parkCar("UP78BX9207", "L2")).thenReturn(new SuccessResponse("Car parked on L2."));
+
+        mockMvc.perform(post("/api/parking/park")
+                .param("level", "L2")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"licensePlate\": \"UP78BX9207\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Car parked on L2."));
+    }
+
+    @Test
+    void testGetZoneAvailability() throws Exception {
+        when(parkingService.getAvailability("L1", "A")).thenReturn(new Availability("A", 50, 20, 30, List.of()));
+
+        mockMvc.perform(get("/api/parking/availability/L1/A"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.freeSlots").value(20))
+                .andExpect(jsonPath("$.occupiedSlots").value(30));
+    }
+}
@@ -0,0 +1,271 @@
+package com.drop.solution.parking.lot;
+
+import com.drop.solution.parking.lot.service.ParkingService;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Concurrent history of ParkingService calls and a linearizability check
+ * against a sequential model of the lot.
+ *
+ * Every call is stored with its invocation and response time and its outcome:
+ * the response message, or the simple name of the exception it threw. The
+ * check is the Wing-Gong search with Lowe's memoization of visited
+ * (linearized calls, model state) pairs: it looks for an order of the calls
+ * that respects real time and in which the model produces exactly the
+ * recorded outcomes.
+ */
+final class ParkingHistory {
+
+    enum Kind { PARK, UNPARK, SLOT_INFO }
+
+    static final class Call {
+        final Kind kind;
+        final String licensePlate;
+        final int slot;
+        final long invokedAt;
+        long respondedAt;
+        String outcome;
+        int id;
+
+        Call(Kind kind, String licensePlate, int slot, long invokedAt) {
+            this.kind = kind;
+            this.licensePlate = licensePlate;
+            this.slot = slot;
+            this.invokedAt = invokedAt;
+        }
+
+        @Override
+        public String toString() {
+            return kind + "(" + (kind == Kind.SLOT_INFO ? String.valueOf(slot) : licensePlate) + ") -> " + outcome
+                    + " [" + invokedAt + ", " + respondedAt + "]";
+        }
+    }
+
+    private final List<Call> calls = new ArrayList<>();
+
+    /**
+     * Runs one call against the service and records it. Safe to use from many
+     * threads; each thread should record into its own history, which are merged
+     * with {@link #merge(List)} afterwards.
+     */
+    Call invoke(ParkingService service, Kind kind, String licensePlate, int slot) {
+        Call call = new Call(kind, licensePlate, slot, System.nanoTime());
+        try {
+            call.outcome = switch (kind) {
+                case PARK -> service.parkCar(licensePlate).getMessage();
+                case UNPARK -> service.unparkCar(licensePlate).getMessage();
+                case SLOT_INFO -> service.getSlotInfo(slot).getMessage();
+            };
+        } catch (RuntimeException ex) {
+            call.outcome = ex.getClass().getSimpleName();
+        }
+        call.respondedAt = System.nanoTime();
+        calls.add(call);
+        return call;
+    }
+
+    void add(Call call) {
+        calls.add(call);
+    }
+
+    List<Call> getCalls() {
+        return calls;
+    }
+
+    static ParkingHistory merge(List<ParkingHistory> histories) {
+        ParkingHistory merged = new ParkingHistory();
+        histories.forEach(history -> merged.calls.addAll(history.calls));
+        return merged;
+    }
+
+    /**
+     * Returns whether the history is linearizable for an initially empty lot of the given size.
+     */
+    boolean isLinearizable(int size) {
+        int count = calls.size();
+        // Doubly linked list of call and return entries in time order
+        Entry head = new Entry(null, false);
+        List<Entry> entries = new ArrayList<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            Call call = calls.get(i);
+            call.id = i;
+            Entry invocation = new Entry(call, true);
+            Entry response = new Entry(call, false);
+            invocation.match = response;
+            entries.add(invocation);
+            entries.add(response);
+        }
+        entries.sort(Comparator.comparingLong(Entry::time).thenComparing(entry -> !entry.isCall));
+        Entry previous = head;
+        for (Entry entry : entries) {
+            previous.next = entry;
+            entry.previous = previous;
+            previous = entry;
+        }
+
+        Model state = new Model(size);
+        BitSet linearized = new BitSet(count);
+        Set<Object> visited = new HashSet<>();
+        List<Entry> stackEntries = new ArrayList<>();
+        List<Model> stackStates = new ArrayList<>();
+        Entry entry = head.next;
+        while (head.next != null) {
+            if (entry.isCall) {
+                Model next = state.apply(entry.call);
+                if (next != null) {
+                    BitSet candidate = (BitSet) linearized.clone();
+                    candidate.set(entry.call.id);
+                    if (visited.add(List.of(candidate, next))) {
+                        stackEntries.add(entry);
+                        stackStates.add(state);
+                        state = next;
+                        linearized = candidate;
+                        entry.lift();
+                        entry = head.next;
+                        continue;
+                    }
+                }
+                entry = entry.next;
+            } else {
+                if (stackEntries.isEmpty()) {
+                    return false;
+                }
+                entry = stackEntries.remove(stackEntries.size() - 1);
+                state = stackStates.remove(stackStates.size() - 1);
+                linearized = (BitSet) linearized.clone();
+                linearized.clear(entry.call.id);
+                entry.unlift();
+                entry = entry.next;
+            }
+        }
+        return true;
+    }
+
+    private static final class Entry {
+        final Call call;
+        final boolean isCall;
+        Entry match;
+        Entry previous;
+        Entry next;
+
+        Entry(Call call, boolean isCall) {
+            this.call = call;
+            this.isCall = isCall;
+        }
+
+        long time() {
+            return isCall ? call.invokedAt : call.respondedAt;
+        }
+
+        void lift() {
+            previous.next = next;
+            if (next != null) {
+                next.previous = previous;
+            }
+            match.previous.next = match.next;
+            if (match.next != null) {
+                match.next.previous = match.previous;
+            }
+        }
+
+        void unlift() {
+            match.previous.next = match;
+            if (match.next != null) {
+                match.next.previous = match;
+            }
+            previous.next = this;
+            if (next != null) {
+                next.previous = this;
+            }
+        }
+    }
+
+    /**
+     * Sequential specification of the lot: cars take the lowest free slot.
+     */
+    private static final class Model {
+        private final String[] slots; // Index 0 unused
+
+        Model(int size) {
+            this.slots = new String[size + 1];
+        }
+
+        private Model(String[] slots) {
+            this.slots = slots;
+        }
+
+        /**
+         * Returns the state after the call, or null if the model would not produce the recorded outcome.
+         */
+        Model apply(Call call) {
+            return switch (call.kind) {
+                case PARK -> park(call);
+                case UNPARK -> unpark(call);
+                case SLOT_INFO -> slotInfo(call);
+            };
+        }
+
+        private Model park(Call call) {
+            int free = -1;
+            for (int i = 1; i < slots.length; i++) {
+                if (call.licensePlate.equals(slots[i])) {
+                    return matches(call, "AlreadyParkedException", this);
+                }
+                if (free < 0 && slots[i] == null) {
+                    free = i;
+                }
+            }
+            if (free < 0) {
+                return matches(call, "ParkingLotFullException", this);
+            }
+            String[] next = slots.clone();
+            next[free] = call.licensePlate;
+            return matches(call, String.format("Car with license plate %s parked in slot %d.", call.licensePlate, free),
+                    new Model(next));
+        }
+
+        private Model unpark(Call call) {
+            for (int i = 1; i < slots.length; i++) {
+                if (call.licensePlate.equals(slots[i])) {
+                    String[] next = slots.clone();
+                    next[i] = null;
+                    return matches(call, String.format("Car with license plate %s removed from slot %d.",
+                            call.licensePlate, i), new Model(next));
+                }
+            }
+            return matches(call, "CarNotFoundException", this);
+        }
+
+        private Model slotInfo(Call call) {
+            if (call.slot >= slots.length) {
+                return matches(call, "InvalidSlotNumberException", this);
+            }
+            String car = slots[call.slot];
+            String expected = car == null
+                    ? String.format("Slot %d is empty.", call.slot)
+                    : String.format("Slot %d is occupied by car with license plate %s.", call.slot, car);
+            return matches(call, expected, this);
+        }
+
+        private static Model matches(Call call, String expected, Model next) {
+            return expected.equals(call.outcome) ? next : null;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Model model && Arrays.equals(slots, model.slots);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(slots);
+        }
+    }
+}
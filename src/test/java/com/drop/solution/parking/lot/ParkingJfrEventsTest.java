@@ -0,0 +1,125 @@
+package com.drop.solution.parking.lot;
+
+import com.drop.solution.parking.lot.exception.ParkingLotFullException;
+import com.drop.solution.parking.lot.jfr.RateLimiterWaitRecorder;
+import com.drop.solution.parking.lot.service.imp.ParkingServiceImp;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ParkingJfrEventsTest {
+
+    @Test
+    void testOperationsAreRecorded() throws Exception {
+        ParkingServiceImp parkingService = new ParkingServiceImp(1);
+
+        List<RecordedEvent> events = record(() -> {
+            parkingService.parkCar("UP78BX9207");
+            parkingService.getSlotInfo(1);
+            assertThrows(ParkingLotFullException.class, () -> parkingService.parkCar("UP16BX7632"));
+            parkingService.unparkCar("UP78BX9207");
+        });
+
+        RecordedEvent park = only(events, "com.drop.solution.parking.Park");
+        assertEquals("UP78BX9207".hashCode(), park.getInt("plateHash"));
+        assertEquals(1, park.getInt("slot"));
+        assertEquals(1, park.getInt("scanLength"));
+        assertFalse(park.getBoolean("fromWaitlist"));
+        assertTrue(only(events, "com.drop.solution.parking.SlotInfo").getBoolean("occupied"));
+        RecordedEvent rejected = only(events, "com.drop.solution.parking.Rejected");
+        assertEquals("park", rejected.getString("operation"));
+        assertEquals("ParkingLotFullException", rejected.getString("reason"));
+        assertEquals(1, only(events, "com.drop.solution.parking.Unpark").getInt("slot"));
+    }
+
+    @Test
+    void testRateLimiterWaitIsRecorded() throws Throwable {
+        RateLimiterWaitRecorder recorder = new RateLimiterWaitRecorder();
+        RateLimiterWaitRecorder.PermitGranted permitGranted = new RateLimiterWaitRecorder.PermitGranted();
+        ProceedingJoinPoint method = mock(ProceedingJoinPoint.class);
+        ProceedingJoinPoint rateLimited = rateLimitedCall(); // The Resilience4j aspect granting a permit
+        when(rateLimited.proceed()).thenAnswer(invocation -> permitGranted.recordPermit(method));
+
+        List<RecordedEvent> events = record(() -> invoke(recorder, rateLimited));
+
+        RecordedEvent wait = only(events, "com.drop.solution.parking.RateLimiterWait");
+        assertEquals("apiRateLimiter", wait.getString("rateLimiter"));
+        assertTrue(wait.getBoolean("permitted"));
+    }
+
+    @Test
+    void testRefusedPermitIsRecorded() throws Throwable {
+        RateLimiterWaitRecorder recorder = new RateLimiterWaitRecorder();
+        RateLimiter rateLimiter = RateLimiterRegistry.ofDefaults().rateLimiter("apiRateLimiter");
+        ProceedingJoinPoint rateLimited = rateLimitedCall();
+        when(rateLimited.proceed()).thenThrow(RequestNotPermitted.createRequestNotPermitted(rateLimiter));
+
+        List<RecordedEvent> events = record(() ->
+                assertThrows(RequestNotPermitted.class, () -> recorder.recordWait(rateLimited)));
+
+        assertFalse(only(events, "com.drop.solution.parking.RateLimiterWait").getBoolean("permitted"));
+    }
+
+    private static void invoke(RateLimiterWaitRecorder recorder, ProceedingJoinPoint call) {
+        try {
+            recorder.recordWait(call);
+        } catch (Throwable ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static ProceedingJoinPoint rateLimitedCall() throws NoSuchMethodException {
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getMethod()).thenReturn(ParkingServiceImp.class.getMethod("parkCar", String.class));
+        ProceedingJoinPoint call = mock(ProceedingJoinPoint.class);
+        when(call.getSignature()).thenReturn(signature);
+        return call;
+    }
+
+    private static List<RecordedEvent> record(Runnable action) throws Exception {
+        Configuration configuration;
+        try (Reader reader = new InputStreamReader(
+                ParkingJfrEventsTest.class.getResourceAsStream("/jfr/parking.jfc"), StandardCharsets.UTF_8)) {
+            configuration = Configuration.create(reader);
+        }
+        Path file = Files.createTempFile("parking", ".jfr");
+        try (Recording recording = new Recording(configuration)) {
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static RecordedEvent only(List<RecordedEvent> events, String name) {
+        Predicate<RecordedEvent> named = event -> event.getEventType().getName().equals(name);
+        List<RecordedEvent> matching = events.stream().filter(named).toList();
+        assertEquals(1, matching.size(), name);
+        return matching.get(0);
+    }
+}
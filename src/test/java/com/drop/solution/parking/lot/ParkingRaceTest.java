@@ -0,0 +1,136 @@
+package com.drop.solution.parking.lot;
+
+import com.drop.solution.parking.lot.service.ParkingService;
+import com.drop.solution.parking.lot.service.imp.ParkingServiceImp;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Targeted two-thread races in the style of jcstress.
+ *
+ * Each race sets up a fresh lot, releases two actors at the same instant and
+ * observes the outcome; the outcomes seen over many iterations are tallied
+ * and must all be in the set of acceptable outcomes. Runs with
+ * {@code mvn -Pstress test}; {@code -Dstress.iterations} scales the races.
+ */
+@Tag("stress")
+class ParkingRaceTest {
+
+    private static final int ITERATIONS = Integer.getInteger("stress.iterations", 20_000);
+
+    private static final String PARKED_1_A = "Car with license plate A parked in slot 1.";
+    private static final String PARKED_1_B = "Car with license plate B parked in slot 1.";
+    private static final String REMOVED_1_A = "Car with license plate A removed from slot 1.";
+
+    @Test
+    void testTwoParksRaceForTheLastSlot() throws Exception {
+        race(size(1), service -> call(() -> service.parkCar("A").getMessage()),
+                service -> call(() -> service.parkCar("B").getMessage()),
+                service -> "",
+                Set.of(PARKED_1_A + " | ParkingLotFullException | ", "ParkingLotFullException | " + PARKED_1_B + " | "));
+    }
+
+    @Test
+    void testSameCarParkedTwice() throws Exception {
+        race(size(2), service -> call(() -> service.parkCar("A").getMessage()),
+                service -> call(() -> service.parkCar("A").getMessage()),
+                service -> String.valueOf(service.getOccupiedSlots().size()),
+                Set.of(PARKED_1_A + " | AlreadyParkedException | 1", "AlreadyParkedException | " + PARKED_1_A + " | 1"));
+    }
+
+    @Test
+    void testParkRacesUnparkOnAFullLot() throws Exception {
+        race(occupied("A"), service -> call(() -> service.unparkCar("A").getMessage()),
+                service -> call(() -> service.parkCar("B").getMessage()),
+                service -> service.getSlotInfo(1).getMessage(),
+                Set.of(REMOVED_1_A + " | " + PARKED_1_B + " | Slot 1 is occupied by car with license plate B.",
+                        REMOVED_1_A + " | ParkingLotFullException | Slot 1 is empty."));
+    }
+
+    @Test
+    void testDoubleUnpark() throws Exception {
+        race(occupied("A"), service -> call(() -> service.unparkCar("A").getMessage()),
+                service -> call(() -> service.unparkCar("A").getMessage()),
+                service -> service.getSlotInfo(1).getMessage(),
+                Set.of(REMOVED_1_A + " | CarNotFoundException | Slot 1 is empty.",
+                        "CarNotFoundException | " + REMOVED_1_A + " | Slot 1 is empty."));
+    }
+
+    @Test
+    void testSlotInfoObservesParkAtomically() throws Exception {
+        race(size(1), service -> call(() -> service.parkCar("A").getMessage()),
+                service -> call(() -> service.getSlotInfo(1).getMessage()),
+                service -> "",
+                Set.of(PARKED_1_A + " | Slot 1 is empty. | ",
+                        PARKED_1_A + " | Slot 1 is occupied by car with license plate A. | "));
+    }
+
+    private static Function<Integer, ParkingService> size(int size) {
+        return iteration -> new ParkingServiceImp(size);
+    }
+
+    private static Function<Integer, ParkingService> occupied(String licensePlate) {
+        return iteration -> {
+            ParkingService service = new ParkingServiceImp(1);
+            service.parkCar(licensePlate);
+            return service;
+        };
+    }
+
+    private static String call(Supplier<String> action) {
+        try {
+            return action.get();
+        } catch (RuntimeException ex) {
+            return ex.getClass().getSimpleName();
+        }
+    }
+
+    /**
+     * Runs the two actors against a fresh lot per iteration and checks every
+     * observed "actor1 | actor2 | arbiter" outcome against the acceptable ones.
+     */
+    private static void race(Function<Integer, ParkingService> setup, Function<ParkingService, String> actor1,
+                             Function<ParkingService, String> actor2, Function<ParkingService, String> arbiter,
+                             Set<String> acceptable) throws Exception {
+        Map<String, Integer> outcomes = new TreeMap<>();
+        ParkingService[] current = new ParkingService[1];
+        String[] results = new String[2];
+        CyclicBarrier start = new CyclicBarrier(2);
+        CyclicBarrier end = new CyclicBarrier(2);
+        Thread second = new Thread(() -> {
+            try {
+                for (int i = 0; i < ITERATIONS; i++) {
+                    start.await();
+                    results[1] = actor2.apply(current[0]);
+                    end.await();
+                }
+            } catch (Exception ex) {
+                Thread.currentThread().interrupt();
+            }
+        }, "race-actor-2");
+        second.setDaemon(true);
+
+        current[0] = setup.apply(0);
+        second.start();
+        for (int i = 0; i < ITERATIONS; i++) {
+            start.await();
+            results[0] = actor1.apply(current[0]);
+            end.await();
+            String outcome = results[0] + " | " + results[1] + " | " + arbiter.apply(current[0]);
+            outcomes.merge(outcome, 1, Integer::sum);
+            current[0] = setup.apply(i + 1);
+        }
+        second.join();
+
+        assertTrue(acceptable.containsAll(outcomes.keySet()), () -> "Forbidden outcome observed: " + outcomes);
+    }
+}
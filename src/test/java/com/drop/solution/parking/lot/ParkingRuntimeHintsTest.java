@@ -0,0 +1,26 @@
+package com.drop.solution.parking.lot;
+
+import com.drop.solution.parking.lot.config.ParkingRuntimeHints;
+import com.drop.solution.parking.lot.model.CarDetailsRequest;
+import com.drop.solution.parking.lot.model.ErrorDetails;
+import com.drop.solution.parking.lot.model.SuccessResponse;
+import io.github.resilience4j.ratelimiter.configure.RateLimiterAspect;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParkingRuntimeHintsTest {
+
+    @Test
+    void testModelsAndRateLimiterAreRegistered() {
+        RuntimeHints hints = new RuntimeHints();
+        new ParkingRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        assertTrue(RuntimeHintsPredicates.reflection().onType(SuccessResponse.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(ErrorDetails.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(CarDetailsRequest.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(RateLimiterAspect.class).test(hints));
+    }
+}
@@ -3,7 +3,12 @@ package com.drop.solution.parking.lot;
 import com.drop.solution.parking.lot.exception.AlreadyParkedException;
 import com.drop.solution.parking.lot.exception.CarNotFoundException;
 import com.drop.solution.parking.lot.exception.InvalidSlotNumberException;
+import com.drop.solution.parking.lot.exception.LayoutNodeNotFoundException;
 import com.drop.solution.parking.lot.exception.ParkingLotFullException;
+import com.drop.solution.parking.lot.model.Availability;
+import com.drop.solution.parking.lot.model.BatchItemResult;
+import com.drop.solution.parking.lot.model.LotCapacity;
+import com.drop.solution.parking.lot.model.SlotInfo;
 import com.drop.solution.parking.lot.model.SuccessResponse;
 import com.drop.solution.parking.lot.service.imp.ParkingServiceImp;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,7 +17,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @ExtendWith(MockitoExtension.class)
@@ -89,4 +103,236 @@ class ParkingServiceTest {
         });
         assertEquals("Invalid Slot number 3", exception.getMessage());
     }
+
+    @Test
+    void testGetOccupiedSlots() {
+        parkingService.parkCar("UP78BX9207");
+        parkingService.parkCar("UP78BX9288");
+        parkingService.unparkCar("UP78BX9207");
+
+        List<SlotInfo> occupied = parkingService.getOccupiedSlots();
+        assertEquals(1, occupied.size());
+        assertEquals(2, occupied.get(0).getSlot());
+        assertEquals("UP78BX9288", occupied.get(0).getLicensePlate());
+    }
+
+    @Test
+    void testGrowLotWhileCarsAreParked() {
+        parkingService.parkCar("UP78BX9207");
+        parkingService.parkCar("UP78BX9288");
+
+        LotCapacity capacity = parkingService.resize(3);
+
+        assertEquals(3, capacity.getSize());
+        assertEquals(1, capacity.getFreeSlots());
+        SuccessResponse response = parkingService.parkCar("UP16BX7632");
+        assertEquals("Car with license plate UP16BX7632 parked in slot 3.", response.getMessage());
+    }
+
+    @Test
+    void testShrinkLotDrainsOccupiedSlots() {
+        parkingService.parkCar("UP78BX9207");
+        parkingService.parkCar("UP78BX9288");
+
+        LotCapacity capacity = parkingService.resize(1);
+        assertEquals(2, capacity.getSize());
+        assertEquals(1, capacity.getDrainingSlots());
+
+        parkingService.unparkCar("UP78BX9288");
+        assertThrows(ParkingLotFullException.class, () -> parkingService.parkCar("UP16BX7632"));
+
+        assertEquals(1, parkingService.getCapacity().getSize());
+        assertThrows(InvalidSlotNumberException.class, () -> parkingService.getSlotInfo(2));
+    }
+
+    @Test
+    void testGrowAfterShrinkWhileOccupiedReopensDrainingSlots() {
+        ParkingServiceImp service = new ParkingServiceImp(10);
+        for (int i = 1; i <= 8; i++) {
+            service.parkCar("UP78BX920" + i);
+        }
+        for (int i = 1; i <= 7; i++) {
+            service.unparkCar("UP78BX920" + i);
+        }
+
+        LotCapacity shrunk = service.resize(5);
+        assertEquals(8, shrunk.getSize());
+        assertEquals(3, shrunk.getClosedSlots());
+
+        LotCapacity reopened = service.resize(8);
+        assertEquals(8, reopened.getSize());
+        assertEquals(0, reopened.getClosedSlots());
+        assertEquals(7, reopened.getFreeSlots());
+
+        service.resize(5);
+        LotCapacity grown = service.resize(10);
+        assertEquals(10, grown.getSize());
+        assertEquals(0, grown.getClosedSlots());
+        assertEquals(9, grown.getFreeSlots());
+    }
+
+    @Test
+    void testGrowBeyondMaximumSizeIsRejected() {
+        ParkingServiceImp service = new ParkingServiceImp(2, List.of(), 0, 1, "", 100);
+
+        assertThrows(InvalidSlotNumberException.class, () -> service.resize(2_000_000_000));
+        assertThrows(InvalidSlotNumberException.class, () -> service.openSlots(99, 101));
+        assertEquals(100, service.resize(100).getSize());
+    }
+
+    @Test
+    void testCloseAndReopenSlotRange() {
+        parkingService.closeSlots(1, 1);
+        assertEquals("Car with license plate UP78BX9207 parked in slot 2.",
+                parkingService.parkCar("UP78BX9207").getMessage());
+
+        LotCapacity capacity = parkingService.openSlots(1, 1);
+
+        assertEquals(1, capacity.getFreeSlots());
+        assertEquals(0, capacity.getClosedSlots());
+        assertEquals("Car with license plate UP78BX9288 parked in slot 1.",
+                parkingService.parkCar("UP78BX9288").getMessage());
+    }
+
+    @Test
+    void testCloseInvalidSlotRange() {
+        Exception exception = assertThrows(InvalidSlotNumberException.class, () -> {
+            parkingService.closeSlots(2, 3);
+        });
+        assertEquals("Invalid slot range 2 to 3", exception.getMessage());
+    }
+
+    @Test
+    void testParkCarOrWaitParksImmediatelyWhenSlotIsFree() throws Exception {
+        CompletableFuture<SuccessResponse> future = parkingService.parkCarOrWait("UP78BX9207");
+
+        assertEquals("Car with license plate UP78BX9207 parked in slot 1.", future.get().getMessage());
+    }
+
+    @Test
+    void testFreedSlotGoesToHeadOfWaitlist() throws Exception {
+        parkingService.parkCar("UP78BX9207");
+        parkingService.parkCar("UP78BX9288");
+        CompletableFuture<SuccessResponse> first = parkingService.parkCarOrWait("UP16BX7632");
+        CompletableFuture<SuccessResponse> second = parkingService.parkCarOrWait("UP16BX7633");
+
+        assertSame(first, parkingService.parkCarOrWait("UP16BX7632"));
+        assertEquals(2, parkingService.getWaitingCount());
+        assertFalse(first.isDone());
+
+        parkingService.unparkCar("UP78BX9288");
+
+        assertEquals("Car with license plate UP16BX7632 parked in slot 2.", first.get(1, TimeUnit.SECONDS).getMessage());
+        assertFalse(second.isDone());
+        assertThrows(ParkingLotFullException.class, () -> parkingService.parkCar("UP16BX7634"));
+
+        parkingService.openSlots(3, 3);
+
+        assertEquals("Car with license plate UP16BX7633 parked in slot 3.", second.get(1, TimeUnit.SECONDS).getMessage());
+        assertEquals(0, parkingService.getWaitingCount());
+    }
+
+    @Test
+    void testCancelledWaiterIsSkippedOnHandOff() throws Exception {
+        parkingService.parkCar("UP78BX9207");
+        parkingService.parkCar("UP78BX9288");
+        CompletableFuture<SuccessResponse> gone = parkingService.parkCarOrWait("UP16BX7632");
+        CompletableFuture<SuccessResponse> next = parkingService.parkCarOrWait("UP16BX7633");
+
+        gone.cancel(false);
+        assertEquals(1, parkingService.getWaitingCount());
+        parkingService.unparkCar("UP78BX9288");
+
+        assertEquals("Car with license plate UP16BX7633 parked in slot 2.", next.get(1, TimeUnit.SECONDS).getMessage());
+        assertThrows(CarNotFoundException.class, () -> parkingService.unparkCar("UP16BX7632"));
+        assertEquals(0, parkingService.getCapacity().getFreeSlots());
+    }
+
+    @Test
+    void testWaitingCarGivesUpAfterTimeout() {
+        ParkingServiceImp service = new ParkingServiceImp(1, List.of(), 1, 1);
+        service.parkCar("UP78BX9207");
+        CompletableFuture<SuccessResponse> waiting = service.parkCarOrWait("UP78BX9288");
+
+        assertThrows(ParkingLotFullException.class, () -> service.parkCarOrWait("UP16BX7632"));
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> waiting.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ParkingLotFullException.class, exception.getCause());
+        assertEquals(0, service.getWaitingCount());
+
+        service.unparkCar("UP78BX9207");
+        assertEquals(1, service.getCapacity().getFreeSlots());
+    }
+
+    @Test
+    void testParkCarsReportsEachCar() {
+        List<BatchItemResult> results = parkingService.parkCars(List.of("UP78BX9207", "UP78BX9207", "UP78BX9288", "UP16BX7632"));
+
+        assertEquals(200, results.get(0).getStatus());
+        assertEquals("Car with license plate UP78BX9207 parked in slot 1.", results.get(0).getMessage());
+        assertEquals(400, results.get(1).getStatus());
+        assertEquals(200, results.get(2).getStatus());
+        assertEquals(409, results.get(3).getStatus());
+        assertEquals(404, parkingService.unparkCars(List.of("UP16BX7632")).get(0).getStatus());
+    }
+
+    @Test
+    void testParkCarPrefersRequestedLevel() {
+        ParkingServiceImp service = new ParkingServiceImp(6, List.of(), 0, 1, "L1:A=1-2,B=3-4;L2:A=5-6");
+
+        assertEquals("Car with license plate UP78BX9207 parked in slot 5.", service.parkCar("UP78BX9207", "L2").getMessage());
+        assertEquals("Car with license plate UP78BX9288 parked in slot 6.", service.parkCar("UP78BX9288", "L2").getMessage());
+        assertEquals("Car with license plate UP16BX7632 parked in slot 1.", service.parkCar("UP16BX7632", "L2").getMessage());
+        assertThrows(LayoutNodeNotFoundException.class, () -> service.parkCar("UP16BX7633", "L3"));
+    }
+
+    @Test
+    void testAvailabilityFollowsParkUnparkOpenAndClose() {
+        ParkingServiceImp service = new ParkingServiceImp(4, List.of(), 0, 1, "L1:A=1-2,B=3-4;L2:A=5-6");
+        service.parkCar("UP78BX9207");
+        service.parkCar("UP78BX9288");
+        service.parkCar("UP16BX7632");
+        service.unparkCar("UP78BX9207");
+        service.closeSlots(2, 3);
+
+        Availability level1 = service.getAvailability("L1");
+        assertEquals(2, level1.getCapacity());
+        assertEquals(2, level1.getFreeSlots());
+        assertEquals(2, level1.getOccupiedSlots());
+        assertEquals(1, service.getAvailability("L1", "B").getFreeSlots());
+        assertEquals(0, service.getAvailability("L2").getFreeSlots());
+
+        service.openSlots(2, 6);
+
+        assertEquals(2, service.getAvailability("L2", "A").getFreeSlots());
+        assertEquals(2, service.getAvailability("L1").getFreeSlots());
+        Availability lot = service.getAvailability();
+        assertEquals(4, lot.getFreeSlots());
+        assertEquals(2, lot.getChildren().size());
+        assertThrows(LayoutNodeNotFoundException.class, () -> service.getAvailability("L1", "C"));
+    }
+
+    @Test
+    void testAvailabilityCapacityCountsOpenSlotsWithinTheLot() {
+        ParkingServiceImp service = new ParkingServiceImp(4, List.of(), 0, 1, "L1:A=1-2,B=3-4;L2:A=5-6");
+        assertEquals(0, service.getAvailability("L2").getCapacity());
+        assertEquals(4, service.getAvailability().getCapacity());
+
+        service.closeSlots(3, 4);
+
+        assertEquals(2, service.getAvailability("L1").getCapacity());
+        assertEquals(0, service.getAvailability("L1", "B").getCapacity());
+        assertEquals(2, service.getAvailability().getCapacity());
+
+        service.resize(5);
+
+        assertEquals(4, service.getAvailability("L1").getCapacity());
+        assertEquals(1, service.getAvailability("L2", "A").getCapacity());
+        assertEquals(1, service.getAvailability("L2").getFreeSlots());
+
+        service.resize(2);
+
+        assertEquals(2, service.getAvailability("L1").getCapacity());
+        assertEquals(0, service.getAvailability("L2").getCapacity());
+        assertEquals(2, service.getAvailability().getCapacity());
+    }
 }
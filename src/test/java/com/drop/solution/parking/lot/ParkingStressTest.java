@@ -0,0 +1,144 @@
+package com.drop.solution.parking.lot;
+
+import com.drop.solution.parking.lot.model.LotCapacity;
+import com.drop.solution.parking.lot.model.SlotInfo;
+import com.drop.solution.parking.lot.service.ParkingService;
+import com.drop.solution.parking.lot.service.imp.ParkingServiceImp;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Randomized multi-threaded park/unpark/slot-info workloads whose histories
+ * are checked for linearizability against a sequential model of the lot.
+ *
+ * Runs with {@code mvn -Pstress test}; {@code -Dstress.rounds} and
+ * {@code -Dstress.threads} scale the workload.
+ */
+@Tag("stress")
+class ParkingStressTest {
+
+    private static final int ROUNDS = Integer.getInteger("stress.rounds", 2000);
+    private static final int THREADS = Integer.getInteger("stress.threads", 4);
+    private static final int CALLS_PER_THREAD = 12;
+    private static final int LOT_SIZE = 3;
+    private static final String[] PLATES = { "UP78BX9201", "UP78BX9202", "UP78BX9203", "UP78BX9204", "UP78BX9205" };
+
+    static Stream<Arguments> engines() {
+        return Stream.of(Arguments.of("ParkingServiceImp", (IntFunction<ParkingService>) ParkingServiceImp::new));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("engines")
+    void testRandomHistoriesAreLinearizable(String name, IntFunction<ParkingService> engine) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            SplittableRandom seeds = new SplittableRandom(Long.getLong("stress.seed", System.nanoTime()));
+            for (int round = 0; round < ROUNDS; round++) {
+                ParkingService service = engine.apply(LOT_SIZE);
+                CyclicBarrier start = new CyclicBarrier(THREADS);
+                List<Future<ParkingHistory>> futures = new ArrayList<>();
+                for (int t = 0; t < THREADS; t++) {
+                    SplittableRandom random = seeds.split();
+                    futures.add(executor.submit(() -> runWorker(service, random, start)));
+                }
+                List<ParkingHistory> histories = new ArrayList<>();
+                for (Future<ParkingHistory> future : futures) {
+                    histories.add(future.get());
+                }
+                ParkingHistory history = ParkingHistory.merge(histories);
+
+                assertTrue(history.isLinearizable(LOT_SIZE),
+                        () -> name + " produced a non-linearizable history:\n" + describe(history));
+                assertConsistent(service);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testCheckerRejectsDoubleAssignedSlot() {
+        ParkingHistory history = new ParkingHistory();
+        history.add(call(ParkingHistory.Kind.PARK, "UP78BX9201", "Car with license plate UP78BX9201 parked in slot 1.", 0, 10));
+        history.add(call(ParkingHistory.Kind.PARK, "UP78BX9202", "Car with license plate UP78BX9202 parked in slot 1.", 5, 15));
+
+        assertFalse(history.isLinearizable(LOT_SIZE));
+    }
+
+    @Test
+    void testCheckerRespectsRealTimeOrder() {
+        ParkingHistory overlapping = new ParkingHistory();
+        overlapping.add(call(ParkingHistory.Kind.SLOT_INFO, null, "Slot 1 is empty.", 0, 20));
+        overlapping.add(call(ParkingHistory.Kind.PARK, "UP78BX9201", "Car with license plate UP78BX9201 parked in slot 1.", 5, 10));
+        ParkingHistory sequential = new ParkingHistory();
+        sequential.add(call(ParkingHistory.Kind.PARK, "UP78BX9201", "Car with license plate UP78BX9201 parked in slot 1.", 0, 5));
+        sequential.add(call(ParkingHistory.Kind.SLOT_INFO, null, "Slot 1 is empty.", 10, 20));
+
+        assertTrue(overlapping.isLinearizable(LOT_SIZE));
+        assertFalse(sequential.isLinearizable(LOT_SIZE));
+    }
+
+    private static ParkingHistory runWorker(ParkingService service, SplittableRandom random, CyclicBarrier start)
+            throws Exception {
+        ParkingHistory history = new ParkingHistory();
+        start.await();
+        for (int i = 0; i < CALLS_PER_THREAD; i++) {
+            String plate = PLATES[random.nextInt(PLATES.length)];
+            int choice = random.nextInt(10);
+            if (choice < 4) {
+                history.invoke(service, ParkingHistory.Kind.PARK, plate, 0);
+            } else if (choice < 8) {
+                history.invoke(service, ParkingHistory.Kind.UNPARK, plate, 0);
+            } else {
+                history.invoke(service, ParkingHistory.Kind.SLOT_INFO, null, 1 + random.nextInt(LOT_SIZE + 1));
+            }
+        }
+        return history;
+    }
+
+    private static void assertConsistent(ParkingService service) {
+        List<SlotInfo> occupied = service.getOccupiedSlots();
+        Set<String> plates = new HashSet<>();
+        occupied.forEach(slot -> assertTrue(plates.add(slot.getLicensePlate()), "Car parked twice: " + occupied));
+        if (service instanceof ParkingServiceImp engine) {
+            LotCapacity capacity = engine.getCapacity();
+            assertEquals(occupied.size(), capacity.getOccupiedSlots());
+            assertEquals(LOT_SIZE, capacity.getOccupiedSlots() + capacity.getFreeSlots());
+        }
+    }
+
+    private static ParkingHistory.Call call(ParkingHistory.Kind kind, String plate, String outcome,
+                                            long invokedAt, long respondedAt) {
+        ParkingHistory.Call call = new ParkingHistory.Call(kind, plate, 1, invokedAt);
+        call.outcome = outcome;
+        call.respondedAt = respondedAt;
+        return call;
+    }
+
+    private static String describe(ParkingHistory history) {
+        StringBuilder description = new StringBuilder();
+        history.getCalls().stream()
+                .sorted((a, b) -> Long.compare(a.invokedAt, b.invokedAt))
+                .forEach(call -> description.append("  ").append(call).append('\n'));
+        return description.toString();
+    }
+}
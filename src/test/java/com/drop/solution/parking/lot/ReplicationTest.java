@@ -0,0 +1,297 @@
+package com.drop.solution.parking.lot;
+
+import com.drop.solution.parking.lot.exception.ReadOnlyReplicaException;
+import com.drop.solution.parking.lot.model.ParkingEvent;
+import com.drop.solution.parking.lot.replication.ReplicationLog;
+import com.drop.solution.parking.lot.replication.ReplicationManager;
+import com.drop.solution.parking.lot.replication.ReplicationPrimary;
+import com.drop.solution.parking.lot.replication.ReplicationReplica;
+import com.drop.solution.parking.lot.service.imp.ParkingServiceImp;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplicationTest {
+
+    private final List<ReplicationReplica> replicas = new ArrayList<>();
+    private ReplicationLog primaryLog;
+    private ParkingServiceImp primaryService;
+    private ReplicationPrimary primary;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        primaryLog = new ReplicationLog(3);
+        primaryService = new ParkingServiceImp(5, List.of(primaryLog));
+        primary = new ReplicationPrimary(primaryService, primaryLog, 0);
+        primary.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        replicas.forEach(ReplicationReplica::stop);
+        primary.stop();
+    }
+
+    @Test
+    void testReplicasFollowPrimaryMutations() {
+        ParkingServiceImp first = startReplica();
+        ParkingServiceImp second = startReplica();
+
+        primaryService.parkCar("UP78BX9207");
+        primaryService.parkCar("UP78BX9288");
+        primaryService.unparkCar("UP78BX9207");
+
+        awaitSequence(first, 3);
+        awaitSequence(second, 3);
+        assertEquals("Slot 1 is empty.", first.getSlotInfo(1).getMessage());
+        assertEquals("Slot 2 is occupied by car with license plate UP78BX9288.", second.getSlotInfo(2).getMessage());
+    }
+
+    @Test
+    void testLateReplicaCatchesUpFromSnapshot() {
+        for (int i = 0; i < 5; i++) {
+            primaryService.parkCar("UP78BX920" + i); // More events than the log retains
+        }
+
+        ParkingServiceImp late = startReplica();
+
+        awaitSequence(late, 5);
+        assertEquals(5, late.getOccupiedSlots().size());
+        assertEquals("Slot 5 is occupied by car with license plate UP78BX9204.", late.getSlotInfo(5).getMessage());
+    }
+
+    @Test
+    void testReplicasFollowLotResize() {
+        ParkingServiceImp replica = startReplica();
+
+        primaryService.resize(8);
+        primaryService.closeSlots(1, 2);
+
+        awaitSequence(replica, 2);
+        assertEquals(8, replica.getCapacity().getSize());
+        assertEquals(2, replica.getCapacity().getClosedSlots());
+        assertEquals(primaryService.getCapacity().getFreeSlots(), replica.getCapacity().getFreeSlots());
+    }
+
+    @Test
+    void testReplicaRejectsMutations() {
+        ParkingServiceImp replica = startReplica();
+
+        Exception exception = assertThrows(ReadOnlyReplicaException.class, () -> replica.parkCar("UP78BX9207"));
+        assertEquals("This instance is a read-only replica; send park and unpark requests to the primary.",
+                exception.getMessage());
+        // Rejected as read-only before the level is looked up
+        assertThrows(ReadOnlyReplicaException.class, () -> replica.parkCar("UP78BX9207", "Unknown"));
+    }
+
+    @Test
+    void testPromotedReplicaServesItsOwnReplicas() throws IOException {
+        ReplicationLog replicaLog = new ReplicationLog(100);
+        ParkingServiceImp candidate = new ParkingServiceImp(5, List.of(replicaLog));
+        ReplicationReplica follower = new ReplicationReplica(candidate, "localhost", primary.getLocalPort());
+        follower.start();
+        primaryService.parkCar("UP78BX9207");
+        awaitSequence(candidate, 1);
+
+        follower.stop();
+        primary.stop();
+        candidate.startNewLog();
+        candidate.setReadOnly(false);
+        ReplicationPrimary promoted = new ReplicationPrimary(candidate, replicaLog, 0);
+        promoted.start();
+        try {
+            candidate.parkCar("UP78BX9288");
+            ParkingServiceImp downstreamService = new ParkingServiceImp(5);
+            startReplica(new ReplicationReplica(downstreamService, "localhost", promoted.getLocalPort()), downstreamService);
+
+            awaitSequence(downstreamService, 2);
+            assertEquals(2, downstreamService.getOccupiedSlots().size());
+        } finally {
+            promoted.stop();
+        }
+    }
+
+    @Test
+    void testFormerPrimaryRejoinsFromSnapshotAfterFailover() throws IOException {
+        ReplicationLog replicaLog = new ReplicationLog(100);
+        ParkingServiceImp candidate = new ParkingServiceImp(5, List.of(replicaLog));
+        ReplicationReplica follower = new ReplicationReplica(candidate, "localhost", primary.getLocalPort());
+        follower.start();
+        primaryService.parkCar("UP78BX9207");
+        awaitSequence(candidate, 1);
+
+        follower.stop();
+        primaryService.parkCar("UP78BX9288"); // Never reaches the candidate
+        primary.stop();
+        candidate.startNewLog();
+        candidate.setReadOnly(false);
+        ReplicationPrimary promoted = new ReplicationPrimary(candidate, replicaLog, 0);
+        promoted.start();
+        try {
+            candidate.parkCar("UP16BX7632"); // Same sequence as the lost park on the old primary
+            startReplica(new ReplicationReplica(primaryService, "localhost", promoted.getLocalPort()), primaryService);
+
+            await(() -> primaryService.getLogId() == candidate.getLogId());
+            assertEquals("Slot 2 is occupied by car with license plate UP16BX7632.", primaryService.getSlotInfo(2).getMessage());
+            assertEquals(2, primaryService.getOccupiedSlots().size());
+        } finally {
+            promoted.stop();
+        }
+    }
+
+    @Test
+    void testReplicaReconnectsWhenPrimaryGoesSilent() throws Exception {
+        AtomicInteger connections = new AtomicInteger();
+        try (ServerSocket silent = new ServerSocket(0)) {
+            Thread acceptor = new Thread(() -> {
+                List<Socket> open = new ArrayList<>(); // Accepted and never answered, like a hung primary
+                try {
+                    while (true) {
+                        open.add(silent.accept());
+                        connections.incrementAndGet();
+                    }
+                } catch (IOException ex) {
+                    open.forEach(socket -> {
+                        try {
+                            socket.close();
+                        } catch (IOException ignored) {
+                            // Closing anyway
+                        }
+                    });
+                }
+            });
+            acceptor.setDaemon(true);
+            acceptor.start();
+            ParkingServiceImp service = new ParkingServiceImp(5);
+            ReplicationReplica replica = new ReplicationReplica(service, "localhost", silent.getLocalPort());
+            startReplica(replica, service);
+
+            await(() -> connections.get() >= 2);
+        }
+    }
+
+    @Test
+    void testLagIsMeasuredWithTheReplicaClock() throws Exception {
+        try (ServerSocket skewed = new ServerSocket(0)) {
+            Thread fakePrimary = new Thread(() -> {
+                try (Socket socket = skewed.accept()) {
+                    new DataInputStream(socket.getInputStream()).readFully(new byte[20]); // Hello
+                    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+                    long anHourAgo = System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1); // The primary clock lags
+                    out.writeByte('E');
+                    out.writeLong(1);
+                    out.writeByte(ParkingEvent.Type.PARK.ordinal());
+                    out.writeInt(1);
+                    out.writeInt(1);
+                    out.writeUTF("UP78BX9207");
+                    out.writeLong(anHourAgo);
+                    out.writeLong(anHourAgo);
+                    out.writeByte('H');
+                    out.writeLong(2); // One more mutation exists on the primary
+                    out.flush();
+                    Thread.sleep(10_000);
+                } catch (IOException | InterruptedException ex) {
+                    // The test is over
+                }
+            });
+            fakePrimary.setDaemon(true);
+            fakePrimary.start();
+            ParkingServiceImp service = new ParkingServiceImp(5);
+            ReplicationReplica replica = new ReplicationReplica(service, "localhost", skewed.getLocalPort());
+            startReplica(replica, service);
+
+            await(() -> replica.getPrimarySequence() == 2);
+            assertEquals(1, service.getSequence());
+            assertTrue(replica.getLagMillis() < TimeUnit.MINUTES.toMillis(1), "Lag " + replica.getLagMillis());
+            fakePrimary.interrupt();
+        }
+    }
+
+    @Test
+    void testPromotionFailsWhileTheReplicaIsStillApplying() {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch applying = new CountDownLatch(1);
+        ParkingServiceImp candidate = new ParkingServiceImp(5, List.of(event -> {
+            if (!"UP78BX9288".equals(event.getLicensePlate())) {
+                return;
+            }
+            applying.countDown();
+            boolean interrupted = false;
+            while (release.getCount() > 0) { // Holds the apply thread inside applyEvent, even when interrupted
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        ReplicationManager manager = new ReplicationManager(candidate, new ReplicationLog(100), "replica", 0,
+                "localhost", primary.getLocalPort());
+        manager.start();
+        try {
+            primaryService.parkCar("UP78BX9207");
+            awaitSequence(candidate, 1);
+            primaryService.parkCar("UP78BX9288"); // Arrives as an event once the replica is caught up
+            await(() -> applying.getCount() == 0);
+
+            assertThrows(IllegalStateException.class, manager::promote);
+            assertTrue(candidate.isReadOnly()); // The engine lock is held by the apply thread, so only flags are read
+
+            release.countDown();
+            assertEquals("PRIMARY", manager.promote().getRole());
+            assertFalse(candidate.isReadOnly());
+        } finally {
+            release.countDown();
+            manager.stop();
+        }
+    }
+
+    private ParkingServiceImp startReplica() {
+        ParkingServiceImp service = new ParkingServiceImp(5);
+        return startReplica(new ReplicationReplica(service, "localhost", primary.getLocalPort()), service);
+    }
+
+    private ParkingServiceImp startReplica(ReplicationReplica replica, ParkingServiceImp service) {
+        replica.start();
+        replicas.add(replica);
+        return service;
+    }
+
+    private static void awaitSequence(ParkingServiceImp service, long sequence) {
+        await(() -> service.getSequence() >= sequence);
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Timed out waiting for replication");
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(ex);
+            }
+        }
+    }
+}
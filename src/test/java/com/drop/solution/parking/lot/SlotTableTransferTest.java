@@ -0,0 +1,135 @@
+package com.drop.solution.parking.lot;
+
+import com.drop.solution.parking.lot.exception.BulkImportException;
+import com.drop.solution.parking.lot.model.Car;
+import com.drop.solution.parking.lot.service.imp.ParkingServiceImp;
+import com.drop.solution.parking.lot.transfer.SlotTableFormat;
+import com.drop.solution.parking.lot.transfer.SlotTableTransfer;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlotTableTransferTest {
+
+    @Test
+    void testNdjsonRoundTrip() throws Exception {
+        ParkingServiceImp source = new ParkingServiceImp(3);
+        source.parkCar("UP78BX9207");
+        source.parkCar("UP \"78\" \\ Köln");
+        source.unparkCar("UP78BX9207");
+
+        String exported = export(source, SlotTableFormat.NDJSON);
+        ParkingServiceImp target = new ParkingServiceImp(1);
+        long imported = importInto(target, SlotTableFormat.NDJSON, exported);
+
+        assertEquals(1, imported);
+        assertEquals(2, target.getCapacity().getSize());
+        assertNull(target.getParkedCar(1));
+        Car car = target.getParkedCar(2);
+        assertEquals("UP \"78\" \\ Köln", car.getLicensePlate());
+        assertEquals(source.getParkedCar(2).getParkedAt(), car.getParkedAt());
+        assertEquals("Car with license plate UP78BX9288 parked in slot 1.", target.parkCar("UP78BX9288").getMessage());
+    }
+
+    @Test
+    void testCsvRoundTrip() throws Exception {
+        ParkingServiceImp source = new ParkingServiceImp(2);
+        source.parkCar("UP78BX9207");
+        source.parkCar("UP,78");
+
+        String exported = export(source, SlotTableFormat.CSV);
+        ParkingServiceImp target = new ParkingServiceImp(2);
+        importInto(target, SlotTableFormat.CSV, exported);
+
+        assertTrue(exported.startsWith("slot,licensePlate,parkedAt\n1,UP78BX9207,"));
+        assertEquals("UP,78", target.getParkedCar(2).getLicensePlate());
+        assertEquals(2, target.getCapacity().getOccupiedSlots());
+    }
+
+    @Test
+    void testImportSpansManyChunks() throws Exception {
+        StringBuilder table = new StringBuilder();
+        for (int slot = 1; slot <= 20_000; slot++) {
+            table.append(slot).append(",CAR").append(slot).append(',').append(1_700_000_000_000L).append("\r\n");
+        }
+        ParkingServiceImp target = new ParkingServiceImp(0);
+
+        assertEquals(20_000, importInto(target, SlotTableFormat.CSV, table.toString()));
+        assertEquals(20_000, target.getCapacity().getSize());
+        assertEquals(0, target.getCapacity().getFreeSlots());
+        assertEquals("CAR12345", target.getParkedCar(12345).getLicensePlate());
+    }
+
+    @Test
+    void testMalformedLineIsReported() {
+        ParkingServiceImp target = new ParkingServiceImp(5);
+        String table = "{\"slot\":1,\"licensePlate\":\"UP78BX9207\",\"parkedAt\":1}\n{\"slot\":2,\"parkedAt\":1}\n";
+
+        Exception exception = assertThrows(BulkImportException.class,
+                () -> importInto(target, SlotTableFormat.NDJSON, table));
+
+        assertEquals("Line 2: license plate is missing.", exception.getMessage());
+        assertEquals(0, target.getCapacity().getOccupiedSlots());
+    }
+
+    @Test
+    void testRowWithoutParkedAtIsRejected() {
+        ParkingServiceImp target = new ParkingServiceImp(5);
+
+        Exception ndjson = assertThrows(BulkImportException.class,
+                () -> importInto(target, SlotTableFormat.NDJSON, "{\"slot\":1,\"licensePlate\":\"UP78BX9207\"}\n"));
+        Exception csv = assertThrows(BulkImportException.class,
+                () -> importInto(target, SlotTableFormat.CSV, "slot,licensePlate,parkedAt\n1,UP78BX9207,\n"));
+
+        assertEquals("Line 1: parkedAt is missing.", ndjson.getMessage());
+        assertEquals("Line 2: invalid parkedAt ''.", csv.getMessage());
+        assertEquals(0, target.getCapacity().getOccupiedSlots());
+    }
+
+    @Test
+    void testCsvQuotesLineBreaks() throws Exception {
+        ParkingServiceImp source = new ParkingServiceImp(3);
+        source.parkCar("UP78\nBX9207");
+        source.parkCar("UP16\r\nBX\"7632\"");
+        source.parkCar("UP78BX9288");
+
+        String exported = export(source, SlotTableFormat.CSV);
+        ParkingServiceImp target = new ParkingServiceImp(0);
+
+        assertEquals(3, importInto(target, SlotTableFormat.CSV, exported));
+        assertEquals("UP78\nBX9207", target.getParkedCar(1).getLicensePlate());
+        assertEquals("UP16\r\nBX\"7632\"", target.getParkedCar(2).getLicensePlate());
+        assertEquals("UP78BX9288", target.getParkedCar(3).getLicensePlate());
+    }
+
+    @Test
+    void testConflictingChunkIsRejectedAsAWhole() {
+        ParkingServiceImp target = new ParkingServiceImp(5);
+        target.parkCar("UP78BX9207");
+
+        assertThrows(BulkImportException.class,
+                () -> importInto(target, SlotTableFormat.CSV, "2,UP16BX7632,1\n3,UP78BX9207,1\n"));
+
+        assertEquals(1, target.getCapacity().getOccupiedSlots());
+        assertNull(target.getParkedCar(2));
+    }
+
+    private static String export(ParkingServiceImp service, SlotTableFormat format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new SlotTableTransfer(service).exportTo(Channels.newChannel(out), format);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static long importInto(ParkingServiceImp service, SlotTableFormat format, String table) throws Exception {
+        ByteArrayInputStream in = new ByteArrayInputStream(table.getBytes(StandardCharsets.UTF_8));
+        return new SlotTableTransfer(service).importFrom(Channels.newChannel(in), format);
+    }
+}
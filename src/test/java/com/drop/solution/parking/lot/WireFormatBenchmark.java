@@ -0,0 +1,81 @@
+package com.drop.solution.parking.lot;
+
+import com.drop.solution.parking.lot.codec.BinaryMessageCodec;
+import com.drop.solution.parking.lot.model.ErrorDetails;
+import com.drop.solution.parking.lot.model.SuccessResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Compares serialization cost and bytes on the wire of the JSON and binary
+ * formats for the response messages. Not part of the test suite; run with
+ * {@code mvn test-compile exec:java -Dexec.mainClass=com.drop.solution.parking.lot.WireFormatBenchmark -Dexec.classpathScope=test}
+ * or from the IDE.
+ */
+public class WireFormatBenchmark {
+
+    private static final int WARMUP = 200_000;
+    private static final int ITERATIONS = 1_000_000;
+    private static volatile long blackhole; // Keeps the measured work from being optimized away
+
+    public static void main(String[] args) throws Exception {
+        ObjectMapper json = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        SuccessResponse success = new SuccessResponse("Car with license plate UP78BX9207 parked in slot 1.");
+        ErrorDetails error = new ErrorDetails(LocalDateTime.now(), "Car with license plate UP78BX9207 not found.",
+                404, "uri=/api/parking/unpark");
+
+        System.out.printf("%-16s %-7s %8s %12s %12s%n", "message", "format", "bytes", "encode ns", "decode ns");
+        report("SuccessResponse", "json", () -> writeJson(json, success), body -> readJson(json, body, SuccessResponse.class));
+        report("SuccessResponse", "binary", () -> BinaryMessageCodec.encode(success),
+                body -> BinaryMessageCodec.decode(SuccessResponse.class, body));
+        report("ErrorDetails", "json", () -> writeJson(json, error), body -> readJson(json, body, ErrorDetails.class));
+        report("ErrorDetails", "binary", () -> BinaryMessageCodec.encode(error),
+                body -> BinaryMessageCodec.decode(ErrorDetails.class, body));
+    }
+
+    private static void report(String message, String format, Supplier<byte[]> encoder,
+                               Function<byte[], Object> decoder) {
+        byte[] body = encoder.get();
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += encoder.get().length;
+            sink += decoder.apply(body).hashCode();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += encoder.get().length;
+        }
+        double encodeNanos = (System.nanoTime() - start) / (double) ITERATIONS;
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += decoder.apply(body).hashCode();
+        }
+        double decodeNanos = (System.nanoTime() - start) / (double) ITERATIONS;
+        blackhole += sink;
+        System.out.printf("%-16s %-7s %8d %12.1f %12.1f%n", message, format, body.length, encodeNanos, decodeNanos);
+    }
+
+    private static byte[] writeJson(ObjectMapper json, Object value) {
+        try {
+            return json.writeValueAsBytes(value);
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static Object readJson(ObjectMapper json, byte[] body, Class<?> type) {
+        try {
+            return json.readValue(body, type);
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}